@@ -0,0 +1,22 @@
+package com.opskube.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.db.pool.adaptive")
+@Data
+public class AdaptivePoolProperties {
+    private boolean enabled = false;
+    private int minSize = 2;
+    private int maxSize = 30;
+    private long intervalMs = 5000;
+    // Mean wait for a connection above which the pool grows
+    private double targetWaitMs = 2;
+    // Mean statement time, relative to the lowest seen, above which the pool shrinks; it only
+    // grows while statements are within half of this
+    private double latencyTolerance = 1.5;
+    // Connections added or removed at a time
+    private int step = 2;
+}
@@ -0,0 +1,21 @@
+package com.opskube.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.archival")
+@Data
+public class ArchivalProperties {
+    private boolean enabled = true;
+    // Events dated further back than this are moved to the archive tables
+    private Duration age = Duration.ofDays(90);
+    // Events moved per transaction, with their RSVPs
+    private int batchSize = 200;
+    // Pause between batches, leaving room for regular traffic
+    private Duration batchPause = Duration.ofMillis(100);
+    private long intervalMs = 3_600_000;
+}
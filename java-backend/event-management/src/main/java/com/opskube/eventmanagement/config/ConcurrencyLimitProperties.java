@@ -0,0 +1,19 @@
+package com.opskube.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+@Data
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 50;
+    private int minLimit = 10;
+    private int maxLimit = 200;
+    // Completed requests per limit update
+    private int windowSize = 10;
+    // Updates between re-measurements of the no-load latency
+    private int probeInterval = 100;
+}
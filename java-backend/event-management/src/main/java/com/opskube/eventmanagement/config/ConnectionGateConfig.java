@@ -0,0 +1,72 @@
+package com.opskube.eventmanagement.config;
+
+import com.opskube.eventmanagement.util.GatedDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Puts a {@link GatedDataSource} in front of the connection pool. On by default when request
+ * handling runs on virtual threads ({@code spring.threads.virtual.enabled}). Other wrappers may
+ * sit either side of it, so it is found by unwrapping.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.gate.enabled", havingValue = "true")
+public class ConnectionGateConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        int permits = environment.getProperty("app.db.gate.permits", Integer.class, 10);
+        long timeoutMs = environment.getProperty("app.db.gate.timeout-ms", Long.class, 30000L);
+        return new GatePostProcessor(permits, timeoutMs);
+    }
+
+    @Bean
+    public MeterBinder connectionGateMetrics(DataSource dataSource) throws SQLException {
+        GatedDataSource gate = dataSource.isWrapperFor(GatedDataSource.class)
+                ? dataSource.unwrap(GatedDataSource.class) : null;
+        return registry -> {
+            if (gate == null) {
+                return;
+            }
+            Gauge.builder("db.gate.permits", gate, GatedDataSource::getMaxPermits)
+                    .description("Connection permits in total")
+                    .register(registry);
+            Gauge.builder("db.gate.permits.available", gate, GatedDataSource::getAvailablePermits)
+                    .description("Connection permits not in use")
+                    .register(registry);
+            Gauge.builder("db.gate.waiting", gate, GatedDataSource::getWaiting)
+                    .description("Callers waiting for a connection permit")
+                    .register(registry);
+            FunctionCounter.builder("db.gate.timeouts", gate, GatedDataSource::getTimeouts)
+                    .description("Callers that gave up waiting for a connection permit")
+                    .register(registry);
+        };
+    }
+
+    // Inside the connection monitor, so its wait times include waiting at the gate
+    private record GatePostProcessor(int permits, long timeoutMs) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource)) {
+                return new GatedDataSource(dataSource, permits, timeoutMs);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.opskube.eventmanagement.config;
+
+import com.opskube.eventmanagement.util.ConnectionMonitoringDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Puts a {@link ConnectionMonitoringDataSource} outside every other data source wrapper, so its
+ * wait times cover the connection gate as well as the pool, and registers its meters.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.pool.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionMonitoringConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionMonitoringPostProcessor(Environment environment) {
+        boolean attributeOwner = environment.getProperty("app.db.pool.monitoring.attribute-owner", Boolean.class, true);
+        return new MonitoringPostProcessor(attributeOwner);
+    }
+
+    @Bean
+    public MeterBinder connectionMonitoringMetrics(DataSource dataSource) throws SQLException {
+        ConnectionMonitoringDataSource monitor = dataSource.unwrap(ConnectionMonitoringDataSource.class);
+        return monitor::bindTo;
+    }
+
+    private record MonitoringPostProcessor(boolean attributeOwner) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionMonitoringDataSource)) {
+                return new ConnectionMonitoringDataSource(dataSource, attributeOwner);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
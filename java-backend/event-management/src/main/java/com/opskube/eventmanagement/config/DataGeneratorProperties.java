@@ -0,0 +1,33 @@
+package com.opskube.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.generator")
+@Data
+public class DataGeneratorProperties {
+    private int users = 10_000;
+    private int events = 100_000;
+    // Average RSVPs per event; the actual count follows the event's popularity
+    private double rsvpsPerEvent = 20;
+    // Exponent of the Zipf distribution of event popularity, higher is more skewed
+    private double zipfExponent = 1.1;
+    // Share of users that organize events
+    private double organizerShare = 0.1;
+    // Event dates spread from this many days ago to this many days ahead
+    private int pastDays = 730;
+    private int futureDays = 365;
+    // Password of every generated user
+    private String password = "password123";
+    // Generator threads, 0 for one per core
+    private int threads = 0;
+    // Rows per batch and per transaction
+    private int batchSize = 5_000;
+    // Use COPY when connected to PostgreSQL
+    private boolean useCopy = true;
+    private long seed = 42;
+    // Stop the application once generation is done, for command-line runs
+    private boolean exitWhenDone = true;
+}
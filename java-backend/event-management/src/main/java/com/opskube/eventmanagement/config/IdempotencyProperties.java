@@ -0,0 +1,27 @@
+package com.opskube.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+@Data
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // POST endpoints that honour Idempotency-Key, as Ant-style patterns relative to the context path
+    private List<String> paths = List.of("/events", "/events/*/rsvp");
+    // memory for a single node, database to share keys between nodes
+    private String store = "memory";
+    private Duration ttl = Duration.ofHours(24);
+    // Bound on the in-memory store
+    private int maxEntries = 10_000;
+    // How long a duplicate waits for the original request before getting a 409
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    // Largest body buffered for fingerprinting; bigger requests get a 413 before anything reads them
+    private int maxBodyBytes = 64 * 1024;
+    private long evictionIntervalMs = 60_000;
+}
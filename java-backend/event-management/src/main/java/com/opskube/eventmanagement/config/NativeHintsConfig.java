@@ -0,0 +1,93 @@
+package com.opskube.eventmanagement.config;
+
+import com.opskube.eventmanagement.repository.EventRow;
+import com.opskube.eventmanagement.repository.EventSuggestionRow;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Reachability metadata for the native image ({@code mvn -Pnative package}), for what Spring AOT
+ * can't see on its own: classes only reached through reflection, JDK proxies and resources.
+ * Has no effect on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+public class NativeHintsConfig {
+
+    public static class Hints implements RuntimeHintsRegistrar {
+
+        private static final MemberCategory[] DATA_CLASS = {
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS};
+
+        // Created by name in jjwt-api, or through its service files
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.impl.crypto.MacProvider",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+        // Loaded by Hikari from spring.datasource.driver-class-name
+        private static final List<String> DRIVERS = List.of("org.postgresql.Driver", "org.h2.Driver");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entities are read and written by Hibernate, DTOs and rows by Jackson and Hibernate
+            registerPackage(hints, classLoader, "com.opskube.eventmanagement.model");
+            registerPackage(hints, classLoader, "com.opskube.eventmanagement.dto");
+            hints.reflection().registerType(EventRow.class, DATA_CLASS);
+            hints.reflection().registerType(EventSuggestionRow.class, DATA_CLASS);
+
+            JJWT_TYPES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+            DRIVERS.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+            // The data source wrappers proxy connections and statements, and call through by reflection
+            for (Class<?> type : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                    CallableStatement.class)) {
+                hints.proxies().registerJdkProxy(type);
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            hints.resources().registerPattern("ehcache.xml");
+        }
+
+        private static void registerPackage(RuntimeHints hints, ClassLoader classLoader, String basePackage) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    return true;
+                }
+            };
+            scanner.addIncludeFilter((reader, factory) -> true);
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                hints.reflection().registerType(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader),
+                        DATA_CLASS);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.opskube.eventmanagement.config;
+
+import com.opskube.eventmanagement.controller.QueryStatisticsEndpoint;
+import com.opskube.eventmanagement.util.QueryStatistics;
+import com.opskube.eventmanagement.util.StatementTimingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Puts a {@link StatementTimingDataSource} directly in front of the connection pool, ahead of
+ * any other wrapper such as the connection gate, and exposes its statistics as the
+ * {@code queries} actuator endpoint.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatisticsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryStatisticsPostProcessor(Environment environment) {
+        QueryStatisticsProperties properties = Binder.get(environment)
+                .bindOrCreate("app.query-stats", QueryStatisticsProperties.class);
+        QueryStatistics statistics = new QueryStatistics(properties.getMaxFingerprints());
+        return new OrderedPostProcessor(statistics, properties);
+    }
+
+    @Bean
+    public QueryStatisticsEndpoint queryStatisticsEndpoint(DataSource dataSource) throws SQLException {
+        return new QueryStatisticsEndpoint(dataSource.unwrap(StatementTimingDataSource.class).getStatistics());
+    }
+
+    // Ordered, so it runs before the unordered post-processors that wrap the data source further
+    private record OrderedPostProcessor(QueryStatistics statistics, QueryStatisticsProperties properties)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimingDataSource)) {
+                return new StatementTimingDataSource(dataSource, statistics,
+                        properties.getSlowThreshold().toNanos(), properties.getLogInterval().toNanos());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
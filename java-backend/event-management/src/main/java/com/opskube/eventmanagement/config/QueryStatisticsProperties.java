@@ -0,0 +1,19 @@
+package com.opskube.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Bound by QueryStatisticsConfig before the data source is created, so not a component
+@ConfigurationProperties(prefix = "app.query-stats")
+@Data
+public class QueryStatisticsProperties {
+    private boolean enabled = true;
+    // Statements taking at least this long are logged
+    private Duration slowThreshold = Duration.ofMillis(200);
+    // Fingerprints tracked; statements beyond that are counted together
+    private int maxFingerprints = 1000;
+    // A slow fingerprint is logged at most once per interval, with a count of the ones skipped
+    private Duration logInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,30 @@
+package com.opskube.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Upper bound on tracked callers across all rules; callers dropped beyond it start with a full bucket
+    private int maxKeys = 100_000;
+    private int stripes = 64;
+    private long evictionIntervalMs = 60_000;
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    @Data
+    public static class Rule {
+        private String method;
+        // Ant-style pattern relative to the context path, such as /events/*/rsvp
+        private String path;
+        private int capacity;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
@@ -1,9 +1,14 @@
 package com.opskube.eventmanagement.config;
 
+import com.opskube.eventmanagement.filter.ConcurrencyLimitFilter;
+import com.opskube.eventmanagement.filter.IdempotencyFilter;
+import com.opskube.eventmanagement.filter.RateLimitFilter;
 import com.opskube.eventmanagement.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -24,7 +29,26 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final IdempotencyFilter idempotencyFilter;
     private final UserDetailsService userDetailsService;
+    private final Environment environment;
+
+    // Only actuator endpoints are served on management.server.port, which stays on the internal
+    // network, so Prometheus scrapes it without a token
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(request -> request.getLocalPort() == managementPort())
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        return http.build();
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -36,16 +60,28 @@ public class SecurityConfig {
                         .requestMatchers("/health").permitAll()
                         .requestMatchers("/events").permitAll()
                         .requestMatchers("/events/{id}").permitAll()
+                        // Actuator endpoints belong on the management port, even if it is set to server.port
+                        .requestMatchers("/metrics", "/actuator/**").denyAll()
                         // Protected endpoints
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Shed load before spending time on token validation
+                .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class)
+                // Rate limits are keyed by the authenticated user, so they run after the token is read
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(idempotencyFilter, RateLimitFilter.class);
 
         return http.build();
     }
 
+    // The bound port, set once the management server is listening; absent when it shares server.port
+    private int managementPort() {
+        return environment.getProperty("local.management.port", Integer.class, -1);
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -0,0 +1,28 @@
+package com.opskube.eventmanagement.config;
+
+import com.opskube.eventmanagement.util.SqlAccounting;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks {@link SqlAccounting} into Hibernate: the inspector sees each statement as it is
+ * prepared, and a listener per session times its execution.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlAccountingCustomizer(
+            @Value("${app.sql-accounting.repeat-threshold:5}") int repeatThreshold,
+            @Value("${app.sql-accounting.fail-on-repeat:false}") boolean failOnRepeat) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlAccounting.Inspector(repeatThreshold, failOnRepeat));
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlAccounting.ExecutionTimer.class.getName());
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.opskube.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.warmup")
+@Data
+public class WarmupProperties {
+    private boolean enabled = true;
+    // Longest /health is held back; whatever is not warm by then warms up under traffic
+    private Duration budget = Duration.ofSeconds(30);
+    // Hot ids and pages are written here at shutdown and preloaded from it at startup; none if empty
+    private String snapshotFile = "";
+    private int maxEvents = 2000;
+    private int maxUsers = 2000;
+    // Passes through the token, event lookup and listing code for the JIT to compile
+    private int iterations = 300;
+}
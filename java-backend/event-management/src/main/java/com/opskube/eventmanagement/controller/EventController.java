@@ -1,9 +1,13 @@
 package com.opskube.eventmanagement.controller;
 
+import com.opskube.eventmanagement.dto.EventDto.EventBatchRequest;
+import com.opskube.eventmanagement.dto.EventDto.EventChangesResponse;
 import com.opskube.eventmanagement.dto.EventDto.EventRequest;
 import com.opskube.eventmanagement.dto.EventDto.EventResponse;
 import com.opskube.eventmanagement.dto.EventDto.EventsResponse;
+import com.opskube.eventmanagement.dto.SuggestionDto.SuggestionsResponse;
 import com.opskube.eventmanagement.services.EventService;
+import com.opskube.eventmanagement.services.EventSuggestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -22,18 +26,52 @@ import java.util.Map;
 public class EventController {
 
     private final EventService eventService;
+    private final EventSuggestionService eventSuggestionService;
 
     @GetMapping
     public ResponseEntity<EventsResponse> getAllEvents(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
+            @RequestParam(defaultValue = "false") boolean upcoming,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
 
-        EventsResponse eventsResponse = eventService.getAllEvents(name, date, page, limit);
+        EventsResponse eventsResponse = eventService.getAllEvents(name, date, upcoming, page, limit, fields, view);
         return ResponseEntity.ok(eventsResponse);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<EventResponse>> getEventsByIds(@RequestParam List<Long> ids) {
+        List<EventResponse> eventResponses = eventService.getEventsByIds(ids);
+        return ResponseEntity.ok(eventResponses);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<EventResponse>> getEventsBatch(@Valid @RequestBody EventBatchRequest batchRequest) {
+        List<EventResponse> eventResponses = eventService.getEventsByIds(batchRequest.getIds());
+        return ResponseEntity.ok(eventResponses);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestionsResponse> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        SuggestionsResponse suggestionsResponse = eventSuggestionService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestionsResponse);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<EventChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        EventChangesResponse changesResponse = eventService.getChanges(since, limit);
+        return ResponseEntity.ok(changesResponse);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EventResponse> getEventById(@PathVariable Long id) {
         EventResponse eventResponse = eventService.getEventById(id);
@@ -66,14 +104,20 @@ public class EventController {
     }
 
     @GetMapping("/my-events")
-    public ResponseEntity<List<EventResponse>> getMyEvents() {
-        List<EventResponse> eventResponses = eventService.getMyEvents();
+    public ResponseEntity<List<EventResponse>> getMyEvents(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
+
+        List<EventResponse> eventResponses = eventService.getMyEvents(fields, view);
         return ResponseEntity.ok(eventResponses);
     }
 
     @GetMapping("/attending")
-    public ResponseEntity<List<EventResponse>> getAttendingEvents() {
-        List<EventResponse> eventResponses = eventService.getAttendingEvents();
+    public ResponseEntity<List<EventResponse>> getAttendingEvents(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
+
+        List<EventResponse> eventResponses = eventService.getAttendingEvents(fields, view);
         return ResponseEntity.ok(eventResponses);
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.opskube.eventmanagement.controller;
 
+import com.opskube.eventmanagement.services.WarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,11 +13,22 @@ import java.util.Map;
 
 @RestController
 @RequestMapping
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final WarmupService warmupService;
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
         Map<String, Object> response = new HashMap<>();
+
+        // Not ready for traffic until warmed up
+        if (!warmupService.isWarm()) {
+            response.put("status", "WARMING_UP");
+            response.put("message", "Server is warming up");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+
         response.put("status", "UP");
         response.put("message", "Server is running");
         return ResponseEntity.ok(response);
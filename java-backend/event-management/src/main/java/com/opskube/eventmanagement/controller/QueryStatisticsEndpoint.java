@@ -0,0 +1,61 @@
+package com.opskube.eventmanagement.controller;
+
+import com.opskube.eventmanagement.util.QueryStatistics;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code queries} actuator endpoint: the top statement fingerprints by total time, or by
+ * {@code sort=mean|p99|max|count}. A DELETE resets the statistics, e.g. between load test runs.
+ * Served on the management port only, since every user can register on the public one.
+ */
+@Endpoint(id = "queries")
+public class QueryStatisticsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private static final Map<String, Comparator<QueryStatistics.Summary>> ORDERS = Map.of(
+            "total", Comparator.comparingDouble(QueryStatistics.Summary::totalMs),
+            "mean", Comparator.comparingDouble(QueryStatistics.Summary::meanMs),
+            "p99", Comparator.comparingDouble(QueryStatistics.Summary::p99Ms),
+            "max", Comparator.comparingDouble(QueryStatistics.Summary::maxMs),
+            "count", Comparator.comparingLong(QueryStatistics.Summary::count));
+
+    private final QueryStatistics statistics;
+
+    public QueryStatisticsEndpoint(QueryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> top(@Nullable Integer limit, @Nullable String sort) {
+        String by = sort == null ? "total" : sort;
+        Comparator<QueryStatistics.Summary> order = ORDERS.get(by);
+        if (order == null) {
+            throw new InvalidEndpointRequestException("Unknown sort: " + by, "sort must be total, mean, p99, max or count");
+        }
+        if (limit != null && limit < 1) {
+            throw new InvalidEndpointRequestException("Invalid limit: " + limit, "limit must be positive");
+        }
+        List<QueryStatistics.Summary> top = statistics.top(limit == null ? DEFAULT_LIMIT : limit, order);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sort", by);
+        response.put("fingerprints", statistics.size());
+        response.put("queries", top);
+        return response;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+}
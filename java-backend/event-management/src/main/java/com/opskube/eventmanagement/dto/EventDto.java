@@ -1,6 +1,7 @@
 package com.opskube.eventmanagement.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,6 +16,13 @@ import java.util.List;
 
 public class EventDto {
 
+    public enum EventChangeType {
+        UPSERTED,
+        DELETED,
+        // Moved to the archive: gone from listings and later changes, still readable by id
+        ARCHIVED
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -36,6 +44,15 @@ public class EventDto {
         private String location;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EventBatchRequest {
+        @NotNull(message = "Event ids are required")
+        private List<Long> ids;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -54,6 +71,15 @@ public class EventDto {
         private LocalDateTime updatedAt;
     }
 
+    // An event with only the requested fields; the others are left out instead of sent as null
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ProjectedEventResponse extends EventResponse {
+        public ProjectedEventResponse(EventResponse event) {
+            super(event.getId(), event.getName(), event.getDescription(), event.getDate(), event.getLocation(),
+                    event.getOrganizer(), event.getCreatedAt(), event.getUpdatedAt());
+        }
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -75,4 +101,30 @@ public class EventDto {
         private boolean hasNextPage;
         private boolean hasPrevPage;
     }
-}
\ No newline at end of file
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class EventChange {
+        private long version;
+        private EventChangeType type;
+        private Long eventId;
+
+        // Current state of the event, absent for deleted and archived events
+        private EventResponse event;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EventChangesResponse {
+        private List<EventChange> changes;
+
+        // Pass as since on the next request
+        private long version;
+        private boolean hasMore;
+    }
+}
@@ -0,0 +1,36 @@
+package com.opskube.eventmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+public class SuggestionDto {
+
+    public enum SuggestionType {
+        EVENT,
+        LOCATION
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SuggestionResponse {
+        private String text;
+        private SuggestionType type;
+        private Long eventId;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SuggestionsResponse {
+        private List<SuggestionResponse> suggestions;
+    }
+}
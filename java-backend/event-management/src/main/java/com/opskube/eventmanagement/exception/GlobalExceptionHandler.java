@@ -10,6 +10,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,6 +22,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ApiException.class)
     public ResponseEntity<ErrorDto> handleApiException(ApiException ex, HttpServletRequest request) {
+        recordOutcome(ex, request);
         ErrorDto errorDto = ErrorDto.builder()
                 .timestamp(LocalDateTime.now())
                 .status(ex.getStatus().value())
@@ -33,6 +36,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorDto> handleValidationExceptions(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
+        recordOutcome(ex, request);
 
         List<ErrorDto.ValidationError> validationErrors = ex.getBindingResult()
                 .getAllErrors()
@@ -59,6 +63,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorDto> handleConstraintViolationException(
             ConstraintViolationException ex, HttpServletRequest request) {
+        recordOutcome(ex, request);
 
         List<ErrorDto.ValidationError> validationErrors = ex.getConstraintViolations()
                 .stream()
@@ -81,6 +86,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorDto> handleBadCredentialsException(
             BadCredentialsException ex, HttpServletRequest request) {
+        recordOutcome(ex, request);
 
         ErrorDto errorDto = ErrorDto.builder()
                 .timestamp(LocalDateTime.now())
@@ -92,8 +98,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDto, HttpStatus.UNAUTHORIZED);
     }
 
+    // Thrown by the actuator endpoints for bad parameters, among others; keep their status
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorDto> handleResponseStatusException(
+            ResponseStatusException ex, HttpServletRequest request) {
+        recordOutcome(ex, request);
+
+        ErrorDto errorDto = ErrorDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(ex.getStatusCode().value())
+                .message(ex.getReason())
+                .path(request.getRequestURI())
+                .build();
+
+        return new ResponseEntity<>(errorDto, ex.getStatusCode());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDto> handleGenericException(Exception ex, HttpServletRequest request) {
+        recordOutcome(ex, request);
         ErrorDto errorDto = ErrorDto.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
@@ -103,4 +126,9 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorDto, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-}
\ No newline at end of file
+
+    // Handled exceptions never reach the observation filter, so tag the request's metrics with them here
+    private static void recordOutcome(Exception ex, HttpServletRequest request) {
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
+    }
+}
@@ -0,0 +1,10 @@
+package com.opskube.eventmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class GoneException extends ApiException {
+
+    public GoneException(String message) {
+        super(message, HttpStatus.GONE);
+    }
+}
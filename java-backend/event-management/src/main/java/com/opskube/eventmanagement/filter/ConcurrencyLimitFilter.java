@@ -0,0 +1,134 @@
+package com.opskube.eventmanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.config.ConcurrencyLimitProperties;
+import com.opskube.eventmanagement.config.SecurityProperties;
+import com.opskube.eventmanagement.dto.ErrorDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sheds load per route class with an adaptive concurrency limit ({@link VegasLimit}), so an
+ * overload of one kind of traffic is answered with immediate 503s instead of queueing every
+ * endpoint behind it. Runs before JWT authentication, so callers are classified by whether
+ * they send a token rather than by whether it is valid.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum RouteClass {
+        ANONYMOUS_READ, AUTHENTICATED_READ, WRITE, AUTH
+    }
+
+    private final ConcurrencyLimitProperties properties;
+    private final SecurityProperties securityProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RouteClass, VegasLimit> limits = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejections = new EnumMap<>(RouteClass.class);
+
+    @PostConstruct
+    void initLimits() {
+        for (RouteClass routeClass : RouteClass.values()) {
+            VegasLimit limit = new VegasLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                    properties.getMaxLimit(), properties.getWindowSize(), properties.getProbeInterval());
+            limits.put(routeClass, limit);
+
+            String tag = routeClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("http.concurrency.limit", limit, VegasLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("route_class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.in_flight", limit, VegasLimit::getInFlight)
+                    .description("Requests currently being handled")
+                    .tag("route_class", tag)
+                    .register(meterRegistry);
+            rejections.put(routeClass, Counter.builder("http.concurrency.rejected")
+                    .description("Requests rejected with 503 because the concurrency limit was reached")
+                    .tag("route_class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !properties.isEnabled()
+                || "OPTIONS".equals(request.getMethod())
+                || path.equals("/health")
+                || path.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // Reject right away when the route class is at its limit
+        RouteClass routeClass = classify(request);
+        VegasLimit limit = limits.get(routeClass);
+        int inFlight = limit.tryAcquire();
+        if (inFlight == 0) {
+            rejections.get(routeClass).increment();
+            reject(request, response);
+            return;
+        }
+
+        // Feed the request's latency back into the limit
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - started, inFlight);
+        }
+    }
+
+    private RouteClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/auth/")) {
+            return RouteClass.AUTH;
+        }
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return RouteClass.WRITE;
+        }
+        return request.getHeader(securityProperties.getHeader()) != null
+                ? RouteClass.AUTHENTICATED_READ
+                : RouteClass.ANONYMOUS_READ;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorDto errorDto = ErrorDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Server is busy, please retry shortly")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDto);
+    }
+}
@@ -0,0 +1,162 @@
+package com.opskube.eventmanagement.filter;
+
+import com.opskube.eventmanagement.config.BinaryFormatConfig;
+import com.opskube.eventmanagement.services.EventPageCache;
+import com.opskube.eventmanagement.services.EventPageCache.CachedPage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers the hottest {@code GET /events} pages from {@link EventPageCache}, writing the cached
+ * bytes straight to the response. Only requests whose parameters are limited to page, limit,
+ * date and upcoming are cached, since those pages are the same for every caller.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventPageCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> CACHEABLE_PARAMETERS = Set.of("page", "limit", "date", "upcoming");
+
+    private final EventPageCache eventPageCache;
+
+    @Value("${app.pagination.default-page:0}")
+    private int defaultPage;
+
+    @Value("${app.pagination.default-size:10}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:100}")
+    private int maxSize;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !eventPageCache.isEnabled() || !"GET".equals(request.getMethod()) || !"/events".equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // Only plain JSON listings without caller-specific parameters are cached
+        String key = cacheKey(request);
+        if (key == null || !acceptsJson(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        BinaryFormatConfig.addVary(response, HttpHeaders.ACCEPT_ENCODING);
+
+        // Serve a cached page without touching the controller, which would otherwise add Vary: Accept
+        CachedPage cached = eventPageCache.get(key);
+        if (cached != null) {
+            BinaryFormatConfig.addVary(response, HttpHeaders.ACCEPT);
+            write(response, cached, acceptsGzip(request));
+            return;
+        }
+
+        // Render the page normally and keep its bytes
+        long version = eventPageCache.currentVersion();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+            eventPageCache.put(key, version, wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // Normalized the same way the controller and service read the parameters, or null if not cacheable
+    private String cacheKey(HttpServletRequest request) {
+        int page = defaultPage;
+        int limit = defaultSize;
+        LocalDateTime date = null;
+        boolean upcoming = false;
+
+        try {
+            for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+                String name = parameter.getKey();
+                if (!CACHEABLE_PARAMETERS.contains(name) || parameter.getValue().length != 1) {
+                    return null;
+                }
+                String value = parameter.getValue()[0];
+                switch (name) {
+                    case "page" -> page = Integer.parseInt(value);
+                    case "limit" -> limit = Integer.parseInt(value);
+                    case "date" -> date = LocalDateTime.parse(value);
+                    default -> {
+                        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                            return null;
+                        }
+                        upcoming = Boolean.parseBoolean(value);
+                    }
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+
+        page = Math.max(0, page);
+        limit = Math.min(maxSize, Math.max(1, limit));
+        if (page > eventPageCache.getMaxPage()) {
+            return null;
+        }
+        return EventPageCache.key(page, limit, date, upcoming);
+    }
+
+    private static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return true;
+        }
+        try {
+            // Any other acceptable type, such as CBOR, may be preferred over JSON by the controller
+            return MediaType.parseMediaTypes(accept).stream()
+                    .filter(mediaType -> mediaType.getQualityValue() > 0)
+                    .allMatch(mediaType -> mediaType.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static void write(HttpServletResponse response, CachedPage cached, boolean gzip) throws IOException {
+        byte[] body = gzip ? cached.gzip() : cached.json();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
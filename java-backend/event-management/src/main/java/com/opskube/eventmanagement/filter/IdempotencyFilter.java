@@ -0,0 +1,301 @@
+package com.opskube.eventmanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.config.IdempotencyProperties;
+import com.opskube.eventmanagement.dto.ErrorDto;
+import com.opskube.eventmanagement.exception.ApiException;
+import com.opskube.eventmanagement.services.IdempotencyStore;
+import com.opskube.eventmanagement.services.IdempotencyStore.Entry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the POST endpoints in {@code app.idempotency.paths} safe to retry. A request carrying an
+ * {@code Idempotency-Key} header runs once per user and key; repeats get the stored response with
+ * {@code Idempotent-Replayed: true}. A repeat that arrives while the original is still running on
+ * this node waits for its response. Reusing a key for a different request is rejected with 422,
+ * and bodies over {@code app.idempotency.max-body-bytes} with 413.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    // Requests running on this node, completed with their stored entry or null if released
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!properties.isEnabled() || !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getPaths().stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // Keys are scoped to the user; anonymous requests are rejected further down the chain
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(request, response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // Read the body up front so the request can be fingerprinted and still be handled, but no
+        // more of it than a request to these endpoints can need
+        int maxBodyBytes = properties.getMaxBodyBytes();
+        byte[] body = request.getContentLengthLong() > maxBodyBytes ? null
+                : request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body == null || body.length > maxBodyBytes) {
+            reject(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request body must be at most " + maxBodyBytes + " bytes");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String fingerprint = fingerprint(cachedRequest);
+        String key = authentication.getName() + ':' + idempotencyKey;
+
+        while (true) {
+            // Wait for a duplicate already running on this node
+            CompletableFuture<Entry> flight = new CompletableFuture<>();
+            CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                Optional<Entry> entry = await(existing);
+                if (entry == null) {
+                    reject(request, response, HttpStatus.CONFLICT,
+                            "A request with this Idempotency-Key is still being processed");
+                    return;
+                }
+                if (entry.isPresent()) {
+                    replay(request, response, entry.get(), fingerprint);
+                    return;
+                }
+                // The original failed and released the key, so try to run it again
+                continue;
+            }
+
+            try {
+                execute(cachedRequest, response, filterChain, key, fingerprint, flight);
+            } finally {
+                inFlight.remove(key, flight);
+                flight.complete(null);
+            }
+            return;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.idempotency.eviction-interval-ms:60000}",
+            fixedDelayString = "${app.idempotency.eviction-interval-ms:60000}")
+    public void evictExpiredKeys() {
+        idempotencyStore.evictExpired(LocalDateTime.now());
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, String fingerprint, CompletableFuture<Entry> flight)
+            throws ServletException, IOException {
+        // Claim the key, or answer from what another node already stored for it
+        LocalDateTime expiresAt = LocalDateTime.now().plus(properties.getTtl());
+        Optional<Entry> stored;
+        try {
+            stored = idempotencyStore.claim(key, fingerprint, expiresAt);
+        } catch (ApiException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(request, response, e.getStatus(), e.getMessage());
+            return;
+        }
+        if (stored.isPresent()) {
+            if (stored.get().isCompleted()) {
+                replay(request, response, stored.get(), fingerprint);
+            } else {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(request, response, HttpStatus.CONFLICT,
+                        "A request with this Idempotency-Key is still being processed");
+            }
+            return;
+        }
+
+        // Run the request, keeping its response unless it failed in a way worth retrying
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                Entry entry = new Entry(fingerprint, wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getContentAsByteArray(), expiresAt);
+                idempotencyStore.complete(key, entry);
+                flight.complete(entry);
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyStore.release(key);
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // The original's entry, empty if it released the key, or null if it is still running
+    private Optional<Entry> await(CompletableFuture<Entry> flight) {
+        try {
+            return Optional.ofNullable(flight.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            // Flights are only ever completed normally
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, Entry entry, String fingerprint)
+            throws IOException {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            reject(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+            return;
+        }
+        response.setStatus(entry.status());
+        response.setHeader("Idempotent-Replayed", "true");
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        if (entry.body() != null) {
+            response.setContentLength(entry.body().length);
+            response.getOutputStream().write(entry.body());
+        }
+    }
+
+    // Method, path, query and body, so a key reused for another request is detected
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ErrorDto errorDto = ErrorDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDto);
+    }
+
+    /**
+     * Request whose body has already been read, served again from memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.opskube.eventmanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.config.RateLimitProperties;
+import com.opskube.eventmanagement.dto.ErrorDto;
+import com.opskube.eventmanagement.util.StripedBucketMap;
+import com.opskube.eventmanagement.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the token-bucket rules in {@link RateLimitProperties} to matching requests, keyed by
+ * the authenticated user or, for anonymous callers, the client address. Runs after JWT
+ * authentication so the subject is known. Every limited response carries the
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers,
+ * and rejected requests get a 429 with {@code Retry-After}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final List<CompiledRule> rules = new ArrayList<>();
+    private StripedBucketMap buckets;
+
+    @PostConstruct
+    void initRules() {
+        buckets = new StripedBucketMap(properties.getStripes(), properties.getMaxKeys());
+        properties.getRules().forEach((name, rule) -> rules.add(new CompiledRule(name, rule.getMethod(),
+                rule.getPath(), TokenBucket.Policy.of(rule.getCapacity(), rule.getPeriod().toNanos()),
+                Counter.builder("http.rate_limit.rejected")
+                        .description("Requests rejected with 429 by a rate-limit rule")
+                        .tag("rule", name)
+                        .register(meterRegistry))));
+        Gauge.builder("http.rate_limit.keys", buckets, StripedBucketMap::size)
+                .description("Callers with a partially drained bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // Find the first rule for this endpoint
+        CompiledRule rule = match(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Take a token from the caller's bucket for this rule
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(rule.name() + '|' + callerKey(request), now);
+        TokenBucket.Result result = bucket.tryConsume(rule.policy(), now);
+        response.setHeader("RateLimit-Limit", String.valueOf(rule.policy().capacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(result.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(result.resetNanos())));
+
+        if (!result.allowed()) {
+            rule.rejected().increment();
+            reject(request, response, toSeconds(result.retryAfterNanos()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(initialDelayString = "${app.rate-limit.eviction-interval-ms:60000}",
+            fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        if (buckets != null) {
+            buckets.evictIdle(System.nanoTime());
+        }
+    }
+
+    private CompiledRule match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (CompiledRule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(request.getMethod()))
+                    && PATH_MATCHER.match(rule.path(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    // The JWT subject when authenticated, otherwise the client address, which Tomcat resolves from
+    // X-Forwarded-For when the request comes through a trusted proxy
+    private static String callerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Whole seconds, rounded up so clients never retry too early
+    private static long toSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds)
+            throws IOException {
+        ErrorDto errorDto = ErrorDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many requests, please retry later")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDto);
+    }
+
+    private record CompiledRule(String name, String method, String path, TokenBucket.Policy policy,
+                                Counter rejected) {
+    }
+}
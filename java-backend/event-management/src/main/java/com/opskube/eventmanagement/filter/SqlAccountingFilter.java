@@ -0,0 +1,126 @@
+package com.opskube.eventmanagement.filter;
+
+import com.opskube.eventmanagement.util.SqlAccounting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Records the SQL statements of each request with {@link SqlAccounting} and logs a warning for every
+ * statement template run more than {@code app.sql-accounting.repeat-threshold} times, the usual
+ * sign of an N+1. With {@code app.sql-accounting.server-timing}, also reports their count and
+ * database time in a {@code Server-Timing} header, which any caller can read, so it is off by
+ * default. Runs ahead of the security filters so token validation is counted too.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    @Value("${app.sql-accounting.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${app.sql-accounting.server-timing:false}")
+    private boolean serverTiming;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long started = System.nanoTime();
+        try (SqlAccounting.Recording recording = SqlAccounting.start()) {
+            if (serverTiming) {
+                ServerTimingResponse timed = new ServerTimingResponse(response, recording, started);
+                filterChain.doFilter(request, timed);
+                // Responses without a body have not written the header yet
+                timed.writeHeader();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+
+            recording.repeatedMoreThan(repeatThreshold).forEach((template, count) ->
+                    log.warn("Possible N+1 in {} {}: statement run {} times: {}",
+                            request.getMethod(), request.getRequestURI(), count, template));
+        }
+    }
+
+    // Adds the header just before the response is committed, once the handler's queries are done
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlAccounting.Recording recording;
+        private final long started;
+        private boolean written;
+
+        private ServerTimingResponse(HttpServletResponse response, SqlAccounting.Recording recording, long started) {
+            super(response);
+            this.recording = recording;
+            this.started = started;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+
+        private void writeHeader() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            int statements = recording.statementCount();
+            setHeader(SERVER_TIMING, String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d %s\", app;dur=%.2f",
+                    recording.databaseTime().toNanos() / 1e6, statements, statements == 1 ? "statement" : "statements",
+                    (System.nanoTime() - started) / 1e6));
+        }
+    }
+}
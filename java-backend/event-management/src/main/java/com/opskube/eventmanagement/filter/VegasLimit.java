@@ -0,0 +1,109 @@
+package com.opskube.eventmanagement.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adjusted from observed latency, in the style of TCP Vegas. The queue built
+ * up in front of the server is estimated as {@code limit * (1 - noLoadRtt / rtt)}: the limit
+ * grows while that queue is small and shrinks once it grows, so latency stays close to the
+ * no-load latency instead of collapsing under overload. The no-load latency is re-measured every
+ * {@code probeInterval} updates from the lowest latency seen in lightly loaded windows only, so
+ * the queueing delay it is meant to detect does not become part of the baseline.
+ */
+class VegasLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final int probeInterval;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private long noLoadRtt;
+    private long probeMinRtt = Long.MAX_VALUE;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int windowMaxInFlight;
+    private int windowSamples;
+    private int updates;
+
+    VegasLimit(int initialLimit, int minLimit, int maxLimit, int windowSize, int probeInterval) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.probeInterval = probeInterval;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Returns the number of requests in flight including this one, or 0 if over the limit
+    int tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            return 0;
+        }
+        return current;
+    }
+
+    void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        sample(rttNanos, inFlightAtStart);
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtStart) {
+        windowMinRtt = Math.min(windowMinRtt, rttNanos);
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        if (++windowSamples < windowSize) {
+            return;
+        }
+        update(windowMinRtt, windowMaxInFlight);
+        windowMinRtt = Long.MAX_VALUE;
+        windowMaxInFlight = 0;
+        windowSamples = 0;
+    }
+
+    private void update(long rtt, int maxInFlight) {
+        // Candidate baseline: with at most half the limit in flight there is little queue
+        if (maxInFlight * 2 <= estimatedLimit) {
+            probeMinRtt = Math.min(probeMinRtt, rtt);
+        }
+        if (noLoadRtt == 0 || rtt < noLoadRtt) {
+            noLoadRtt = rtt;
+            return;
+        }
+
+        // Re-measure the no-load latency now and then, so a slower baseline is learned
+        if (++updates % probeInterval == 0) {
+            long probed = probeMinRtt;
+            probeMinRtt = Long.MAX_VALUE;
+            if (probed != Long.MAX_VALUE) {
+                noLoadRtt = probed;
+                return;
+            }
+        }
+
+        double queue = Math.ceil(estimatedLimit * (1 - (double) noLoadRtt / rtt));
+        double step = Math.max(1, Math.log10(estimatedLimit));
+        if (queue <= 3 * step) {
+            // Only grow while the limit is actually being used
+            if (maxInFlight * 2 >= estimatedLimit) {
+                estimatedLimit += step;
+            }
+        } else if (queue >= 6 * step) {
+            estimatedLimit -= step;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+}
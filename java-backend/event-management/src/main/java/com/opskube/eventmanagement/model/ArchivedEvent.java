@@ -0,0 +1,52 @@
+package com.opskube.eventmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A past event moved out of the events table by the archival job, keeping its id.
+ */
+@Entity
+@Table(name = "archived_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedEvent {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "VARCHAR(100)")
+    private String name;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime date;
+
+    @Column(nullable = false)
+    private String location;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User organizer;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
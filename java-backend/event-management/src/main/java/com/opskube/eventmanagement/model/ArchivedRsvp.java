@@ -0,0 +1,45 @@
+package com.opskube.eventmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An RSVP to an archived event, moved along with it.
+ */
+@Entity
+@Table(name = "archived_rsvps", indexes = {
+    @Index(name = "idx_archived_rsvps_user_id", columnList = "user_id"),
+    @Index(name = "idx_archived_rsvps_event_id", columnList = "event_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedRsvp {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private ArchivedEvent event;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Rsvp.RsvpStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,51 @@
+package com.opskube.eventmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed write, read by the other nodes so they can evict what they cached about it.
+ * The id is the position in the log; the version is the change version the write took, which
+ * orders writes to the same entity even when entries are read out of id order.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+    @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_type", nullable = false, length = 20)
+    private String changeType;
+
+    // Null for entries written before versions were recorded
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    // Node that made the change, which has already updated its own caches
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.opskube.eventmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A named counter kept in the database, so every node draws from the same sequence.
+ */
+@Entity
+@Table(name = "change_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeCounter {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "last_value", nullable = false)
+    private long lastValue;
+}
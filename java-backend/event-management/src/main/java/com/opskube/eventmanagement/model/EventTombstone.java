@@ -0,0 +1,40 @@
+package com.opskube.eventmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted or archived event, so clients syncing incrementally learn that it left the
+ * events table.
+ */
+@Entity
+@Table(name = "event_tombstones", indexes = {
+    @Index(name = "idx_event_tombstones_change_version", columnList = "change_version"),
+    @Index(name = "idx_event_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventTombstone {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    // True when the event was moved to the archive rather than deleted; null for older tombstones
+    private Boolean archived;
+
+    @CreationTimestamp
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,37 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.ArchivedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    @Query("SELECT a FROM ArchivedEvent a JOIN FETCH a.organizer WHERE a.id = :id")
+    Optional<ArchivedEvent> findWithOrganizerById(@Param("id") Long id);
+
+    // Find archived events by id with their organizer, in any order
+    @Query("SELECT a FROM ArchivedEvent a JOIN FETCH a.organizer WHERE a.id IN :ids")
+    List<ArchivedEvent> findAllWithOrganizerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Archived events the user had responded to, oldest first
+    @Query("SELECT a FROM ArchivedEvent a JOIN FETCH a.organizer WHERE a.id IN " +
+            "(SELECT r.event.id FROM ArchivedRsvp r WHERE r.user.id = :userId) ORDER BY a.date")
+    List<ArchivedEvent> findAttendedBy(@Param("userId") Long userId);
+
+    // Copy events into the archive in one statement, without loading them
+    @Modifying
+    @Query("INSERT INTO ArchivedEvent (id, name, description, date, location, organizer, createdAt, updatedAt, " +
+            "changeVersion, archivedAt) " +
+            "SELECT e.id, e.name, e.description, e.date, e.location, e.organizer, e.createdAt, e.updatedAt, " +
+            "e.changeVersion, :archivedAt FROM Event e WHERE e.id IN :ids")
+    int copyFromEvents(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,21 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.ArchivedRsvp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ArchivedRsvpRepository extends JpaRepository<ArchivedRsvp, Long> {
+
+    // Copy the RSVPs of events being archived; the events must be copied first
+    @Modifying
+    @Query("INSERT INTO ArchivedRsvp (id, user, event, status, createdAt, updatedAt) " +
+            "SELECT r.id, r.user, a, r.status, r.createdAt, r.updatedAt " +
+            "FROM Rsvp r JOIN ArchivedEvent a ON a.id = r.event.id WHERE r.event.id IN :eventIds")
+    int copyFromRsvps(@Param("eventIds") Collection<Long> eventIds);
+}
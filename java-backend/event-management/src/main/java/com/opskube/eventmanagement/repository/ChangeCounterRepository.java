@@ -0,0 +1,27 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.ChangeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeCounterRepository extends JpaRepository<ChangeCounter, String> {
+
+    // Moves the counter forward by the given amount, locking its row until the transaction ends
+    @Modifying
+    @Query("UPDATE ChangeCounter c SET c.lastValue = c.lastValue + :amount WHERE c.name = :name")
+    int advance(@Param("name") String name, @Param("amount") long amount);
+
+    // Raises the counter to at least the given value
+    @Modifying
+    @Query("UPDATE ChangeCounter c SET c.lastValue = :value WHERE c.name = :name AND c.lastValue < :value")
+    int raiseTo(@Param("name") String name, @Param("value") long value);
+
+    @Query("SELECT c.lastValue FROM ChangeCounter c WHERE c.name = :name")
+    Optional<Long> findLastValue(@Param("name") String name);
+}
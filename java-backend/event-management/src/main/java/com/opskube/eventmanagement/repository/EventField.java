@@ -0,0 +1,34 @@
+package com.opskube.eventmanagement.repository;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Event fields that listings can be projected to, named as they appear in responses.
+ */
+public enum EventField {
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    DATE("date"),
+    LOCATION("location"),
+    ORGANIZER("organizer"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String fieldName;
+
+    EventField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public static Optional<EventField> fromFieldName(String fieldName) {
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equals(fieldName))
+                .findFirst();
+    }
+}
@@ -1,26 +1,58 @@
 package com.opskube.eventmanagement.repository;
 
 import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.model.Rsvp;
 import com.opskube.eventmanagement.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
+
+        // Query cache region for listings and their counts, invalidated by any write to the tables they read
+        String QUERY_CACHE_REGION = "event-queries";
+
+        // List all events; the page and its count are cached
+        @Override
+        @QueryHints(value = {
+                        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+                        @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)}, forCounting = true)
+        Page<Event> findAll(Pageable pageable);
 
         // Find events containing name (case insensitive)
+        @QueryHints(value = {
+                        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+                        @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)}, forCounting = true)
         Page<Event> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
         // Find events between date range
+        @QueryHints(value = {
+                        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+                        @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)}, forCounting = true)
         Page<Event> findByDateBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
 
+        // Find upcoming events, optionally containing name
+        Page<Event> findByDateGreaterThanEqual(LocalDateTime start, Pageable pageable);
+
+        Page<Event> findByNameContainingIgnoreCaseAndDateGreaterThanEqual(String name, LocalDateTime start,
+                        Pageable pageable);
+
         // Find events containing name and between date range
         @Query(value = "SELECT * FROM events e WHERE " +
                         "(:name IS NULL OR LOWER(e.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
@@ -31,10 +63,57 @@ public interface EventRepository extends JpaRepository<Event, Long> {
                         @Param("dateEnd") LocalDateTime dateEnd,
                         Pageable pageable);
 
+        // Find events by id with their organizer, in any order
+        @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.id IN :ids")
+        List<Event> findAllWithOrganizerByIdIn(@Param("ids") Collection<Long> ids);
+
+        // Ids of the next events from the given time, soonest first
+        @Query("SELECT e.id FROM Event e WHERE e.date >= :from ORDER BY e.date")
+        List<Long> findUpcomingIds(@Param("from") LocalDateTime from, Pageable pageable);
+
+        // Events last changed in the version range, with their organizer, in version order
+        @Query("SELECT e FROM Event e JOIN FETCH e.organizer " +
+                        "WHERE e.changeVersion > :since AND e.changeVersion <= :until ORDER BY e.changeVersion")
+        List<Event> findChanges(@Param("since") long since, @Param("until") long until, Pageable pageable);
+
+        @Query("SELECT COALESCE(MAX(e.id), 0) FROM Event e WHERE e.changeVersion IS NULL")
+        long findMaxUnversionedId();
+
+        // Give events written without a version, such as seeded ones, a version above the given base
+        @Modifying
+        @Query("UPDATE Event e SET e.changeVersion = :base + e.id WHERE e.changeVersion IS NULL")
+        int stampUnversioned(@Param("base") long base);
+
+        // Lock the oldest events dated before the given time, so concurrent archival runs take turns
+        @Query(value = "SELECT id FROM events WHERE date < :before ORDER BY date LIMIT :limit FOR UPDATE",
+                        nativeQuery = true)
+        List<Long> lockIdsDatedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+        // Bulk delete, which also drops the entity's second-level cache region
+        @Modifying
+        @Query("DELETE FROM Event e WHERE e.id IN :ids")
+        int deleteByIds(@Param("ids") Collection<Long> ids);
+
         // Find events created by user
         List<Event> findByOrganizer(User organizer);
 
         // Find events user is attending
         @Query("SELECT e FROM Event e JOIN e.rsvps r WHERE r.user.id = :userId")
         List<Event> findAttendingEvents(@Param("userId") Long userId);
+
+        // Stream every event with its attendee count, used to rebuild the suggestion index
+        @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+        @Query("SELECT new com.opskube.eventmanagement.repository.EventSuggestionRow(" +
+                        "e.id, e.name, e.location, e.date, COUNT(r.id)) " +
+                        "FROM Event e LEFT JOIN e.rsvps r ON r.status = :status " +
+                        "GROUP BY e.id, e.name, e.location, e.date")
+        Stream<EventSuggestionRow> streamSuggestionRows(@Param("status") Rsvp.RsvpStatus status);
+
+        // Stream events dated from the given time on, with their organizer, in listing order
+        @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+        @Query("SELECT new com.opskube.eventmanagement.repository.EventRow(" +
+                        "e.id, e.name, e.description, e.date, e.location, e.createdAt, e.updatedAt, " +
+                        "o.id, o.username, o.email, o.createdAt) " +
+                        "FROM Event e JOIN e.organizer o WHERE e.date >= :from ORDER BY e.date, e.id")
+        Stream<EventRow> streamUpcomingRows(@Param("from") LocalDateTime from);
 }
\ No newline at end of file
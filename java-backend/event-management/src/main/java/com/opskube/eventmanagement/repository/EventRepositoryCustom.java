@@ -0,0 +1,23 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Reads only the given fields of the matching events. When {@code snippetLength} is positive,
+     * at most {@code snippetLength + 1} characters of the description are read, so callers can
+     * tell whether it was cut.
+     */
+    Page<EventRow> findProjected(Set<EventField> fields, int snippetLength, Specification<Event> spec,
+                                 Pageable pageable);
+
+    List<EventRow> findProjected(Set<EventField> fields, int snippetLength, Specification<Event> spec, Sort sort);
+}
@@ -0,0 +1,130 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria-based projections for {@link EventRepository}, selecting only the requested columns.
+ */
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventRow> findProjected(Set<EventField> fields, int snippetLength, Specification<Event> spec,
+                                        Pageable pageable) {
+        TypedQuery<Tuple> query = projectedQuery(fields, snippetLength, spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<EventRow> rows = toRows(query.getResultList(), fields);
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<EventRow> findProjected(Set<EventField> fields, int snippetLength, Specification<Event> spec,
+                                        Sort sort) {
+        return toRows(projectedQuery(fields, snippetLength, spec, sort).getResultList(), fields);
+    }
+
+    private TypedQuery<Tuple> projectedQuery(Set<EventField> fields, int snippetLength, Specification<Event> spec,
+                                             Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> event = query.from(Event.class);
+
+        // Select the requested columns, aliased by field name
+        List<Selection<?>> selections = new ArrayList<>();
+        for (EventField field : fields) {
+            switch (field) {
+                case DESCRIPTION -> selections.add((snippetLength > 0
+                        ? cb.substring(event.get("description"), 1, snippetLength + 1)
+                        : event.get("description")).alias(field.getFieldName()));
+                case ORGANIZER -> {
+                    // Inner join, the organizer is mandatory
+                    Join<Event, User> organizer = event.join("organizer");
+                    selections.add(organizer.get("id").alias("organizerId"));
+                    selections.add(organizer.get("username").alias("organizerUsername"));
+                    selections.add(organizer.get("email").alias("organizerEmail"));
+                    selections.add(organizer.get("createdAt").alias("organizerCreatedAt"));
+                }
+                default -> selections.add(event.get(field.getFieldName()).alias(field.getFieldName()));
+            }
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(event, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, event, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(cb.count(event));
+        Predicate predicate = spec == null ? null : spec.toPredicate(event, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // Counts repeat across pages of the same listing, so they go to the query cache
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, EventRepository.QUERY_CACHE_REGION)
+                .getSingleResult();
+    }
+
+    private static List<EventRow> toRows(List<Tuple> tuples, Set<EventField> fields) {
+        List<EventRow> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            EventRow row = new EventRow();
+            for (EventField field : fields) {
+                switch (field) {
+                    case ID -> row.setId(tuple.get("id", Long.class));
+                    case NAME -> row.setName(tuple.get("name", String.class));
+                    case DESCRIPTION -> row.setDescription(tuple.get("description", String.class));
+                    case DATE -> row.setDate(tuple.get("date", LocalDateTime.class));
+                    case LOCATION -> row.setLocation(tuple.get("location", String.class));
+                    case ORGANIZER -> {
+                        row.setOrganizerId(tuple.get("organizerId", Long.class));
+                        row.setOrganizerUsername(tuple.get("organizerUsername", String.class));
+                        row.setOrganizerEmail(tuple.get("organizerEmail", String.class));
+                        row.setOrganizerCreatedAt(tuple.get("organizerCreatedAt", LocalDateTime.class));
+                    }
+                    case CREATED_AT -> row.setCreatedAt(tuple.get("createdAt", LocalDateTime.class));
+                    case UPDATED_AT -> row.setUpdatedAt(tuple.get("updatedAt", LocalDateTime.class));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,28 @@
+package com.opskube.eventmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of an event and its organizer, read without loading entities into the
+ * persistence context. Columns that were not selected are left null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventRow {
+    private Long id;
+    private String name;
+    private String description;
+    private LocalDateTime date;
+    private String location;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long organizerId;
+    private String organizerUsername;
+    private String organizerEmail;
+    private LocalDateTime organizerCreatedAt;
+}
@@ -0,0 +1,37 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Event filters for the projected listings in {@link EventRepositoryCustom}.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> nameContains(String name) {
+        return (event, query, cb) -> cb.like(cb.lower(event.get("name")), "%" + name.toLowerCase(Locale.ROOT) + "%");
+    }
+
+    public static Specification<Event> dateBetween(LocalDateTime start, LocalDateTime end) {
+        return (event, query, cb) -> cb.between(event.get("date"), start, end);
+    }
+
+    public static Specification<Event> dateFrom(LocalDateTime start) {
+        return (event, query, cb) -> cb.greaterThanOrEqualTo(event.get("date"), start);
+    }
+
+    public static Specification<Event> organizedBy(Long userId) {
+        return (event, query, cb) -> cb.equal(event.get("organizer").get("id"), userId);
+    }
+
+    // Same as findAttendingEvents: any RSVP of the user counts
+    public static Specification<Event> withRsvpFrom(Long userId) {
+        return (event, query, cb) -> cb.equal(event.join("rsvps").get("user").get("id"), userId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.opskube.eventmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection used to (re)build the typeahead index without loading entities.
+ */
+@Data
+@AllArgsConstructor
+public class EventSuggestionRow {
+    private Long id;
+    private String name;
+    private String location;
+    private LocalDateTime date;
+    private long attendeeCount;
+}
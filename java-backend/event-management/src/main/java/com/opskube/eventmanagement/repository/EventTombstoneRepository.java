@@ -0,0 +1,28 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.EventTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventTombstoneRepository extends JpaRepository<EventTombstone, Long> {
+
+    // Deletions in the version range, in version order
+    @Query("SELECT t FROM EventTombstone t WHERE t.changeVersion > :since AND t.changeVersion <= :until " +
+            "ORDER BY t.changeVersion")
+    List<EventTombstone> findChanges(@Param("since") long since, @Param("until") long until, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(t.changeVersion), 0) FROM EventTombstone t WHERE t.deletedAt < :before")
+    long findMaxVersionDeletedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM EventTombstone t WHERE t.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
@@ -3,15 +3,22 @@ package com.opskube.eventmanagement.repository;
 import com.opskube.eventmanagement.model.Event;
 import com.opskube.eventmanagement.model.Rsvp;
 import com.opskube.eventmanagement.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RsvpRepository extends JpaRepository<Rsvp, Long> {
 
+    // Users come with the RSVPs, since every one of them is mapped
+    @EntityGraph(attributePaths = "user")
     List<Rsvp> findByEvent(Event event);
 
     List<Rsvp> findByUser(User user);
@@ -21,4 +28,8 @@ public interface RsvpRepository extends JpaRepository<Rsvp, Long> {
     boolean existsByUserAndEvent(User user, Event event);
 
     void deleteByUserAndEvent(User user, Event event);
+
+    @Modifying
+    @Query("DELETE FROM Rsvp r WHERE r.event.id IN :eventIds")
+    int deleteByEventIds(@Param("eventIds") Collection<Long> eventIds);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Looks the user up by their natural id, so a cached user is returned without a query.
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,40 @@
+package com.opskube.eventmanagement.repository;
+
+import com.opskube.eventmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+import java.util.Optional;
+
+/**
+ * Natural-id lookups for {@link UserRepository}, resolved through the second-level cache.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        // Join the current transaction or request-scoped session if there is one
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            return loadByEmail(entityManager, email);
+        }
+
+        // Otherwise use a session just for this lookup, which only needs a connection on a cache miss
+        entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return loadByEmail(entityManager, email);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static Optional<User> loadByEmail(EntityManager entityManager, String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+}
@@ -0,0 +1,211 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.model.CacheInvalidation;
+import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.repository.CacheInvalidationRepository;
+import com.opskube.eventmanagement.services.EventChangedEvent.ChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps caches consistent across nodes. Every event write appends an entry to the
+ * {@code cache_invalidations} table in the same transaction, and each node polls the table for
+ * entries written by the others, evicting the second-level cache and replaying the change to
+ * its in-memory views, so a remote write is visible within about one poll interval. Entries
+ * carry the write's change version, and one older than the last applied for the same event is
+ * discarded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationService {
+
+    private static final String EVENT_ENTITY = "Event";
+    private static final int BATCH_SIZE = 500;
+    // Larger jumps in the id sequence are not tracked as gaps
+    private static final int MAX_GAP = 1000;
+    // Events whose last applied version is remembered, least recently written first out
+    private static final int MAX_TRACKED_VERSIONS = 10_000;
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final EventService eventService;
+    private final EventSyncService eventSyncService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cache-invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache-invalidation.gap-timeout-ms:10000}")
+    private long gapTimeoutMs;
+
+    @Value("${app.cache-invalidation.retention-ms:3600000}")
+    private long retentionMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private Timer lag;
+    private Counter stale;
+    private volatile boolean started;
+
+    // Guarded by pollLock: the highest entry read, lower ids not yet seen with when they were
+    // skipped, and the last version applied per event
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private long position;
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private final Map<Long, Long> appliedVersions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > MAX_TRACKED_VERSIONS;
+        }
+    };
+
+    @PostConstruct
+    void init() {
+        lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from a write on another node until this node applied it")
+                .register(meterRegistry);
+        stale = Counter.builder("cache.invalidation.stale")
+                .description("Invalidations discarded because a newer change to the same event was already applied")
+                .register(meterRegistry);
+    }
+
+    // Start from the end of the log once the schema is up, before the other startup listeners fill caches
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        pollLock.lock();
+        try {
+            position = cacheInvalidationRepository.findMaxId();
+            started = true;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    // Runs inside the writing transaction, so the entry commits or rolls back with the change
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEventChanged(EventChangedEvent change) {
+        if (!enabled) {
+            return;
+        }
+        cacheInvalidationRepository.save(CacheInvalidation.builder()
+                .entityType(EVENT_ENTITY)
+                .entityId(change.getEventId())
+                .changeType(change.getType().name())
+                // The version this transaction took, as it still holds the counter
+                .changeVersion(eventSyncService.currentVersion())
+                .origin(nodeId)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache-invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled || !started) {
+            return;
+        }
+        pollLock.lock();
+        try {
+            readLog();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void readLog() {
+        // Ids are assigned before commit, so a lower id can appear after a higher one: read
+        // again from the oldest gap until it fills in or times out
+        long now = System.currentTimeMillis();
+        gaps.values().removeIf(skippedAt -> now - skippedAt > gapTimeoutMs);
+        long from = gaps.isEmpty() ? position : gaps.firstKey() - 1;
+
+        List<CacheInvalidation> entries;
+        do {
+            entries = cacheInvalidationRepository.findTop500ByIdGreaterThanOrderByIdAsc(from);
+            for (CacheInvalidation entry : entries) {
+                from = entry.getId();
+                if (entry.getId() > position) {
+                    if (entry.getId() - position <= MAX_GAP) {
+                        for (long missing = position + 1; missing < entry.getId(); missing++) {
+                            gaps.put(missing, now);
+                        }
+                    }
+                    position = entry.getId();
+                } else if (gaps.remove(entry.getId()) == null) {
+                    continue;
+                }
+                if (isStale(entry)) {
+                    stale.increment();
+                } else if (!nodeId.equals(entry.getOrigin())) {
+                    apply(entry);
+                }
+            }
+        } while (entries.size() == BATCH_SIZE);
+    }
+
+    // Whether a newer change to the same event was already read, remembering this one's version otherwise
+    private boolean isStale(CacheInvalidation entry) {
+        Long version = entry.getChangeVersion();
+        if (version == null) {
+            return false;
+        }
+        // Equal versions are applied again: writes that take no version of their own, such as
+        // archiving, carry the last committed one
+        Long applied = appliedVersions.get(entry.getEntityId());
+        if (applied != null && applied > version) {
+            return true;
+        }
+        appliedVersions.put(entry.getEntityId(), version);
+        return false;
+    }
+
+    @Scheduled(initialDelayString = "${app.cache-invalidation.purge-interval-ms:600000}",
+            fixedDelayString = "${app.cache-invalidation.purge-interval-ms:600000}")
+    public void purge() {
+        if (enabled) {
+            cacheInvalidationRepository.deleteOlderThan(LocalDateTime.now().minus(Duration.ofMillis(retentionMs)));
+        }
+    }
+
+    private void apply(CacheInvalidation entry) {
+        if (!EVENT_ENTITY.equals(entry.getEntityType())) {
+            log.warn("Ignoring cache invalidation for unknown entity type {}", entry.getEntityType());
+            return;
+        }
+
+        // Drop the cached entity and any cached query that may include it, then refresh local views
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Event.class, entry.getEntityId());
+        cache.evictQueryRegions();
+        eventService.publishRemoteChange(ChangeType.valueOf(entry.getChangeType()), entry.getEntityId());
+
+        lag.record(Duration.between(entry.getCreatedAt(), LocalDateTime.now()));
+    }
+}
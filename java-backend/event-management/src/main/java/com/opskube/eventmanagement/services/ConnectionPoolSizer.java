@@ -0,0 +1,139 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.config.AdaptivePoolProperties;
+import com.opskube.eventmanagement.util.ConnectionMonitoringDataSource;
+import com.opskube.eventmanagement.util.GatedDataSource;
+import com.opskube.eventmanagement.util.QueryStatistics;
+import com.opskube.eventmanagement.util.StatementTimingDataSource;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Resizes the connection pool, and the connection gate when there is one, between the configured
+ * bounds. Every interval it compares the mean wait for a connection with the target and the mean
+ * statement time with the lowest seen. The pool grows while callers wait and statements stay
+ * within half the tolerance of that baseline, shrinks once they slow down past the tolerance
+ * (more connections would only queue inside the database), and gives back a connection at a time
+ * while some go unused.
+ *
+ * <p>Growing takes effect at once. Shrinking takes effect at once at the gate; without one the
+ * pool only stops opening connections, and closes the spare ones after its idle timeout.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.db.pool.adaptive.enabled", havingValue = "true")
+public class ConnectionPoolSizer {
+
+    // How quickly the lowest statement time seen follows a slower database, per interval
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final DataSource dataSource;
+    private final AdaptivePoolProperties properties;
+
+    private HikariConfigMXBean pool;
+    private ConnectionMonitoringDataSource monitor;
+    private GatedDataSource gate;
+    private QueryStatistics statistics;
+
+    // Only touched by the scheduled task
+    private long lastAcquisitions;
+    private long lastAcquireNanos;
+    private QueryStatistics.Totals lastTotals;
+    private double baselineLatencyMs;
+
+    @PostConstruct
+    void init() throws SQLException {
+        if (!dataSource.isWrapperFor(ConnectionMonitoringDataSource.class)) {
+            throw new IllegalStateException("Adaptive pool sizing needs app.db.pool.monitoring.enabled=true");
+        }
+        pool = dataSource.unwrap(HikariDataSource.class);
+        monitor = dataSource.unwrap(ConnectionMonitoringDataSource.class);
+        gate = dataSource.isWrapperFor(GatedDataSource.class) ? dataSource.unwrap(GatedDataSource.class) : null;
+        statistics = dataSource.isWrapperFor(StatementTimingDataSource.class)
+                ? dataSource.unwrap(StatementTimingDataSource.class).getStatistics() : null;
+        lastTotals = statistics == null ? null : statistics.totals();
+
+        // Idle connections above the minimum are closed after the idle timeout, so the pool can shrink.
+        // A pool that has not started yet reports -1, meaning as many as the maximum
+        int minimumIdle = pool.getMinimumIdle() < 0 ? pool.getMaximumPoolSize() : pool.getMinimumIdle();
+        pool.setMinimumIdle(Math.min(minimumIdle, properties.getMinSize()));
+        resize(Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), pool.getMaximumPoolSize())));
+    }
+
+    @Scheduled(initialDelayString = "${app.db.pool.adaptive.interval-ms:5000}",
+            fixedDelayString = "${app.db.pool.adaptive.interval-ms:5000}")
+    public void adjust() {
+        long acquisitions = monitor.getAcquisitions();
+        long acquireNanos = monitor.getAcquireNanos();
+        long intervalAcquisitions = acquisitions - lastAcquisitions;
+        double waitMs = intervalAcquisitions == 0 ? 0 : (acquireNanos - lastAcquireNanos) / 1e6 / intervalAcquisitions;
+        lastAcquisitions = acquisitions;
+        lastAcquireNanos = acquireNanos;
+        int peakInUse = monitor.resetPeakInUse();
+        double latencyMs = statementLatencyMs();
+
+        int size = pool.getMaximumPoolSize();
+        int target = targetSize(properties, size, waitMs, latencyMs / baselineLatencyMs, peakInUse);
+        if (target != size) {
+            resize(target);
+            log.info("Connection pool resized from {} to {}: wait {} ms, statements {} ms against {} ms, peak {} in use",
+                    size, target, format(waitMs), format(latencyMs), format(baselineLatencyMs), peakInUse);
+        }
+    }
+
+    // The size to move to from the last interval's mean wait, statement time relative to the baseline
+    // and peak usage. The slowdown is NaN when nothing ran, which neither shrinks nor stops growth
+    static int targetSize(AdaptivePoolProperties properties, int size, double waitMs, double slowdown, int peakInUse) {
+        double tolerance = properties.getLatencyTolerance();
+        int step = properties.getStep();
+        int target = size;
+        if (slowdown > tolerance) {
+            target = size - step;
+        } else if (waitMs > properties.getTargetWaitMs() && !(slowdown > 1 + (tolerance - 1) / 2)) {
+            target = size + step;
+        } else if (peakInUse < size - step) {
+            target = size - 1;
+        }
+        return Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), target));
+    }
+
+    // Mean statement time since the last call, or NaN without statement statistics or statements
+    private double statementLatencyMs() {
+        if (statistics == null) {
+            return Double.NaN;
+        }
+        QueryStatistics.Totals totals = statistics.totals();
+        long count = totals.count() - lastTotals.count();
+        long nanos = totals.nanos() - lastTotals.nanos();
+        lastTotals = totals;
+        // Nothing ran, or the statistics were reset in between
+        if (count <= 0 || nanos < 0) {
+            return Double.NaN;
+        }
+        double latencyMs = nanos / 1e6 / count;
+        baselineLatencyMs = baselineLatencyMs == 0 ? latencyMs
+                : Math.min(latencyMs, baselineLatencyMs + (latencyMs - baselineLatencyMs) * BASELINE_DRIFT);
+        return latencyMs;
+    }
+
+    private void resize(int size) {
+        pool.setMaximumPoolSize(size);
+        if (gate != null) {
+            gate.setMaxPermits(size);
+        }
+    }
+
+    private static String format(double ms) {
+        return String.format("%.2f", ms);
+    }
+}
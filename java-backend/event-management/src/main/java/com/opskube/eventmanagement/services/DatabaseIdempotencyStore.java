@@ -0,0 +1,88 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.model.IdempotencyKey;
+import com.opskube.eventmanagement.repository.IdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} in the {@code idempotency_keys} table, for deployments with several
+ * nodes. A claim is an insert, so the primary key decides which node runs a request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Override
+    public Optional<Entry> claim(String key, String fingerprint, LocalDateTime expiresAt) {
+        IdempotencyKey claim = IdempotencyKey.builder()
+                .id(key)
+                .fingerprint(fingerprint)
+                .expiresAt(expiresAt)
+                .build();
+
+        // Look before inserting, so ordinary retries do not end in a constraint violation
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Optional<Entry> existing = findLive(key);
+            if (existing.isPresent()) {
+                return existing;
+            }
+            try {
+                idempotencyKeyRepository.saveAndFlush(claim);
+                return Optional.empty();
+            } catch (DataIntegrityViolationException e) {
+                // Claimed by another node in the meantime, or an expired row not evicted yet
+                existing = findLive(key);
+                if (existing.isPresent()) {
+                    return existing;
+                }
+            }
+        }
+        throw new IllegalStateException("Could not claim idempotency key");
+    }
+
+    @Override
+    public void complete(String key, Entry entry) {
+        idempotencyKeyRepository.save(IdempotencyKey.builder()
+                .id(key)
+                .fingerprint(entry.fingerprint())
+                .responseStatus(entry.status())
+                .responseContentType(entry.contentType())
+                .responseBody(entry.body())
+                .expiresAt(entry.expiresAt())
+                .build());
+    }
+
+    @Override
+    public void release(String key) {
+        idempotencyKeyRepository.deleteById(key);
+    }
+
+    @Override
+    public int evictExpired(LocalDateTime now) {
+        return idempotencyKeyRepository.deleteExpired(now);
+    }
+
+    // The stored entry unless it has expired, in which case the row is cleared for a new claim
+    private Optional<Entry> findLive(String key) {
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findById(key);
+        if (existing.isPresent() && !existing.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+            idempotencyKeyRepository.deleteIfExpired(key, LocalDateTime.now());
+            return Optional.empty();
+        }
+        return existing.map(DatabaseIdempotencyStore::toEntry);
+    }
+
+    private static Entry toEntry(IdempotencyKey key) {
+        return new Entry(key.getFingerprint(), key.getResponseStatus() == null ? 0 : key.getResponseStatus(),
+                key.getResponseContentType(), key.getResponseBody(), key.getExpiresAt());
+    }
+}
@@ -0,0 +1,104 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.config.ArchivalProperties;
+import com.opskube.eventmanagement.repository.ArchivedEventRepository;
+import com.opskube.eventmanagement.repository.ArchivedRsvpRepository;
+import com.opskube.eventmanagement.repository.EventRepository;
+import com.opskube.eventmanagement.repository.RsvpRepository;
+import com.opskube.eventmanagement.services.EventChangedEvent.ChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves events older than {@code app.archival.age}, with their RSVPs, from the hot tables to
+ * {@code archived_events} and {@code archived_rsvps}, a small batch per transaction. Listings and
+ * RSVPs only deal with upcoming events, so they keep working on small tables and indexes, while
+ * lookups by id and the attending list fall back to the archive.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventArchivalService {
+
+    private final ArchivalProperties properties;
+    private final EventRepository eventRepository;
+    private final RsvpRepository rsvpRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final ArchivedRsvpRepository archivedRsvpRepository;
+    private final EventSyncService eventSyncService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Counter archivedEvents;
+
+    @PostConstruct
+    void initMetrics() {
+        archivedEvents = Counter.builder("events.archived")
+                .description("Events moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.archival.interval-ms:3600000}",
+            fixedDelayString = "${app.archival.interval-ms:3600000}")
+    public void archiveScheduled() {
+        if (properties.isEnabled()) {
+            archive();
+        }
+    }
+
+    // Archives everything due, returning how many events were moved
+    public int archive() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getAge());
+        int total = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> archiveBatch(before));
+            total += ids.size();
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+            try {
+                Thread.sleep(properties.getBatchPause().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} events dated before {}", total, before);
+        }
+        return total;
+    }
+
+    private List<Long> archiveBatch(LocalDateTime before) {
+        // A second node archiving at the same time waits for these rows, then finds them gone
+        List<Long> ids = eventRepository.lockIdsDatedBefore(before, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        // Copy to the archive, then delete from the hot tables
+        archivedEventRepository.copyFromEvents(ids, LocalDateTime.now());
+        archivedRsvpRepository.copyFromRsvps(ids);
+        rsvpRepository.deleteByEventIds(ids);
+        eventRepository.deleteByIds(ids);
+
+        // Tell syncing clients the events left the hot table
+        eventSyncService.recordArchival(ids);
+
+        // Drop them from the in-memory views here and, through the invalidation log, on other nodes
+        ids.forEach(id -> eventPublisher.publishEvent(new EventChangedEvent(ChangeType.ARCHIVED, id, null)));
+        archivedEvents.increment(ids.size());
+        return ids;
+    }
+}
@@ -0,0 +1,28 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.dto.EventDto.EventResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Application event published by {@link EventService} whenever an event is created,
+ * updated or deleted, and by {@link EventArchivalService} when one is moved out of the events
+ * table, so in-memory read models can stay in sync with it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class EventChangedEvent {
+
+    private final ChangeType type;
+    private final Long eventId;
+
+    // State after the change, null for deletions and archived events
+    private final EventResponse event;
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        ARCHIVED
+    }
+}
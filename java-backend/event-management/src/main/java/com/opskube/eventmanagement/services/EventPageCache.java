@@ -0,0 +1,129 @@
+package com.opskube.eventmanagement.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON, plain and gzipped, of the most requested event list pages.
+ * Every committed event write bumps the version, which drops all cached pages; pages
+ * are also dropped after a maximum age since upcoming listings move with the clock.
+ */
+@Service
+public class EventPageCache {
+
+    @Value("${app.page-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.page-cache.max-page:4}")
+    private int maxPage;
+
+    @Value("${app.page-cache.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${app.page-cache.max-age-ms:30000}")
+    private long maxAgeMs;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, CachedPage> pages = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxPage() {
+        return maxPage;
+    }
+
+    // Read before rendering a page, so a write racing with the render discards the result
+    public long currentVersion() {
+        return version.get();
+    }
+
+    public static String key(int page, int limit, LocalDateTime date, boolean upcoming) {
+        return page + "|" + limit + "|" + date + "|" + upcoming;
+    }
+
+    // The GET /events query string for a key, for requesting the page again
+    public static String queryString(String key) {
+        String[] parts = key.split("\\|");
+        String query = "page=" + parts[0] + "&limit=" + parts[1] + "&upcoming=" + parts[3];
+        return parts[2].equals("null") ? query : query + "&date=" + URLEncoder.encode(parts[2], StandardCharsets.UTF_8);
+    }
+
+    // Keys of the pages currently cached and not stale
+    public List<String> keys() {
+        return pages.entrySet().stream()
+                .filter(entry -> !isStale(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public CachedPage get(String key) {
+        CachedPage page = pages.get(key);
+        if (page == null) {
+            return null;
+        }
+        if (isStale(page)) {
+            pages.remove(key, page);
+            return null;
+        }
+        return page;
+    }
+
+    public CachedPage put(String key, long renderedVersion, byte[] json) {
+        CachedPage page = new CachedPage(renderedVersion, System.currentTimeMillis(), json, gzip(json));
+        if (renderedVersion != version.get()) {
+            return page;
+        }
+
+        // Make room by dropping stale pages, and stop caching if the hot set is larger than expected
+        if (pages.size() >= maxEntries) {
+            pages.values().removeIf(this::isStale);
+            if (pages.size() >= maxEntries) {
+                return page;
+            }
+        }
+        pages.put(key, page);
+        return page;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        version.incrementAndGet();
+        pages.clear();
+    }
+
+    private boolean isStale(CachedPage page) {
+        return page.version() != version.get() || System.currentTimeMillis() - page.createdMillis() > maxAgeMs;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * One cached page, as rendered at {@code version}.
+     */
+    public record CachedPage(long version, long createdMillis, byte[] json, byte[] gzip) {
+    }
+}
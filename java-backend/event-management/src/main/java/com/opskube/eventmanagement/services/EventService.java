@@ -1,39 +1,79 @@
 package com.opskube.eventmanagement.services;
 
+import com.opskube.eventmanagement.dto.EventDto.EventChange;
+import com.opskube.eventmanagement.dto.EventDto.EventChangeType;
+import com.opskube.eventmanagement.dto.EventDto.EventChangesResponse;
 import com.opskube.eventmanagement.dto.EventDto.EventRequest;
 import com.opskube.eventmanagement.dto.EventDto.EventResponse;
 import com.opskube.eventmanagement.dto.EventDto.EventsResponse;
 import com.opskube.eventmanagement.dto.EventDto.PaginationInfo;
+import com.opskube.eventmanagement.dto.EventDto.ProjectedEventResponse;
 import com.opskube.eventmanagement.dto.UserDto;
 import com.opskube.eventmanagement.exception.BadRequestException;
 import com.opskube.eventmanagement.exception.ForbiddenException;
+import com.opskube.eventmanagement.exception.GoneException;
 import com.opskube.eventmanagement.exception.ResourceNotFoundException;
+import com.opskube.eventmanagement.model.ArchivedEvent;
 import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.model.EventTombstone;
 import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.repository.ArchivedEventRepository;
+import com.opskube.eventmanagement.repository.EventField;
 import com.opskube.eventmanagement.repository.EventRepository;
+import com.opskube.eventmanagement.repository.EventRow;
+import com.opskube.eventmanagement.repository.EventSpecifications;
+import com.opskube.eventmanagement.repository.EventTombstoneRepository;
 import com.opskube.eventmanagement.repository.UserRepository;
+import com.opskube.eventmanagement.services.EventChangedEvent.ChangeType;
+import com.opskube.eventmanagement.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
 
+    // Fields shown by list views
+    private static final Set<EventField> SUMMARY_FIELDS = EnumSet.of(
+            EventField.ID, EventField.NAME, EventField.DESCRIPTION, EventField.DATE, EventField.LOCATION);
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final EventTombstoneRepository eventTombstoneRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final EventSyncService eventSyncService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UpcomingEventsService upcomingEventsService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.pagination.default-page:0}")
     private int defaultPage;
@@ -44,41 +84,70 @@ public class EventService {
     @Value("${app.pagination.max-size:100}")
     private int maxSize;
 
-    @Transactional(readOnly = true)
-    public EventsResponse getAllEvents(String name, LocalDateTime date, int page, int size) {
-        // Validate pagination parameters
+    @Value("${app.events.summary-snippet-length:160}")
+    private int summarySnippetLength;
+
+    @Value("${app.sync.max-limit:1000}")
+    private int maxSyncLimit;
+
+    @Value("${app.singleflight.list-timeout-ms:2000}")
+    private long listFlightTimeoutMs;
+
+    @Value("${app.singleflight.get-timeout-ms:1000}")
+    private long getFlightTimeoutMs;
+
+    // Concurrent identical database reads share one load
+    private SingleFlight<ListingKey, Page<EventResponse>> listingFlights;
+    private SingleFlight<Long, EventResponse> eventFlights;
+
+    @PostConstruct
+    void initSingleFlights() {
+        listingFlights = new SingleFlight<>("events.list", Duration.ofMillis(listFlightTimeoutMs), meterRegistry);
+        eventFlights = new SingleFlight<>("events.get", Duration.ofMillis(getFlightTimeoutMs), meterRegistry);
+    }
+
+    public EventsResponse getAllEvents(String name, LocalDateTime date, boolean upcoming, int page, int size) {
+        return getAllEvents(name, date, upcoming, page, size, null, null);
+    }
+
+    public EventsResponse getAllEvents(String name, LocalDateTime date, boolean upcoming, int page, int size,
+                                       String fields, String view) {
+        // Validate pagination and projection parameters
         page = Math.max(0, page);
         size = Math.min(maxSize, Math.max(1, size));
+        Set<EventField> projection = parseProjection(fields, view);
+        int snippetLength = snippetLength(view);
 
         // Create pageable with sorting
         Pageable pageable = PageRequest.of(page, size, Sort.by("date").ascending());
 
         // Find events based on filters
-        Page<Event> eventsPage;
-
-        if (name != null && date != null) {
-            // Both name and date filters
-            LocalDateTime dateStart = date.with(LocalTime.MIN);
-            LocalDateTime dateEnd = date.with(LocalTime.MAX);
-            eventsPage = eventRepository.findByNameAndDateRange(name, dateStart, dateEnd, pageable);
-        } else if (name != null) {
-            // Only name filter
-            eventsPage = eventRepository.findByNameContainingIgnoreCase(name, pageable);
-        } else if (date != null) {
-            // Only date filter
-            LocalDateTime dateStart = date.with(LocalTime.MIN);
-            LocalDateTime dateEnd = date.with(LocalTime.MAX);
-            eventsPage = eventRepository.findByDateBetween(dateStart, dateEnd, pageable);
+        Page<EventResponse> eventsPage;
+        Optional<UpcomingEventsService.Slice> slice = name == null
+                ? upcomingEventsService.findEvents(date, upcoming, page, size)
+                : Optional.empty();
+
+        if (slice.isPresent()) {
+            // Covered by the upcoming events snapshot, no database access needed
+            List<EventResponse> events = slice.get().events();
+            if (projection != null) {
+                events = events.stream().map(event -> project(event, projection, snippetLength)).toList();
+            }
+            eventsPage = new PageImpl<>(events, pageable, slice.get().totalEvents());
+        } else if (projection != null) {
+            // Read only the requested columns
+            Specification<Event> spec = eventSpecification(name, date, upcoming);
+            ListingKey key = new ListingKey(name, date, upcoming, page, size, projection, snippetLength);
+            eventsPage = listingFlights.execute(key, () -> readOnlyTransaction().execute(status ->
+                    eventRepository.findProjected(projection, snippetLength, spec, pageable)
+                            .map(row -> mapToEventResponse(row, snippetLength))));
         } else {
-            // No filters
-            eventsPage = eventRepository.findAll(pageable);
+            // Query in a read-only transaction
+            ListingKey key = new ListingKey(name, date, upcoming, page, size, null, 0);
+            eventsPage = listingFlights.execute(key, () -> readOnlyTransaction().execute(status ->
+                    findEvents(name, date, upcoming, pageable).map(this::mapToEventResponse)));
         }
 
-        // Map events to DTOs
-        List<EventResponse> eventResponses = eventsPage.getContent().stream()
-                .map(this::mapToEventResponse)
-                .collect(Collectors.toList());
-
         // Create pagination info
         PaginationInfo paginationInfo = PaginationInfo.builder()
                 .totalEvents(eventsPage.getTotalElements())
@@ -91,17 +160,130 @@ public class EventService {
 
         // Return events with pagination info
         return EventsResponse.builder()
-                .events(eventResponses)
+                .events(eventsPage.getContent())
                 .pagination(paginationInfo)
                 .build();
     }
 
-    @Transactional(readOnly = true)
     public EventResponse getEventById(Long id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", id));
+        // Outside a transaction, so coalesced callers do not hold connections while waiting
+        return eventFlights.execute(id, () -> readOnlyTransaction().execute(status -> {
+            Optional<Event> event = eventRepository.findById(id);
+            if (event.isPresent()) {
+                return mapToEventResponse(event.get());
+            }
+
+            // Past events may have been moved to the archive
+            return archivedEventRepository.findWithOrganizerById(id)
+                    .map(this::mapToEventResponse)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", id));
+        }));
+    }
+
+    public List<EventResponse> getEventsByIds(List<Long> ids) {
+        // Validate batch size
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > maxSize) {
+            throw new BadRequestException("At most " + maxSize + " event ids can be requested at once");
+        }
 
-        return mapToEventResponse(event);
+        // Take what the upcoming events snapshot already holds
+        Map<Long, EventResponse> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : distinctIds) {
+            upcomingEventsService.findById(id)
+                    .ifPresentOrElse(event -> found.put(id, event), () -> misses.add(id));
+        }
+
+        // Fetch the rest with one query, then look for what is still missing in the archive
+        if (!misses.isEmpty()) {
+            readOnlyTransaction().executeWithoutResult(status -> {
+                eventRepository.findAllWithOrganizerByIdIn(misses)
+                        .forEach(event -> found.put(event.getId(), mapToEventResponse(event)));
+                List<Long> archived = misses.stream().filter(id -> !found.containsKey(id)).toList();
+                if (!archived.isEmpty()) {
+                    archivedEventRepository.findAllWithOrganizerByIdIn(archived)
+                            .forEach(event -> found.put(event.getId(), mapToEventResponse(event)));
+                }
+            });
+        }
+
+        // Return in request order, skipping unknown ids
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Changes since the given version, oldest first: the current state of each event written
+     * since then and a tombstone for each one deleted, with the version to ask from next time.
+     */
+    public EventChangesResponse getChanges(long since, int limit) {
+        // Validate parameters
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        int size = Math.min(maxSyncLimit, Math.max(1, limit));
+
+        return readOnlyTransaction().execute(status -> {
+            // Read only up to the last committed version, so nothing below it can still appear
+            long until = eventSyncService.currentVersion();
+            PageRequest firstRows = PageRequest.of(0, size + 1);
+            List<Event> events = eventRepository.findChanges(since, until, firstRows);
+            List<EventTombstone> tombstones = eventTombstoneRepository.findChanges(since, until, firstRows);
+
+            // Checked after reading, so a purge running meanwhile is noticed
+            if (since > 0 && since < eventSyncService.purgedVersion()) {
+                throw new GoneException("Changes since version " + since + " are no longer available, sync from 0");
+            }
+
+            // Merge both in version order
+            List<EventChange> changes = new ArrayList<>(size);
+            int e = 0;
+            int t = 0;
+            while (changes.size() < size && (e < events.size() || t < tombstones.size())) {
+                if (t == tombstones.size() || (e < events.size()
+                        && events.get(e).getChangeVersion() < tombstones.get(t).getChangeVersion())) {
+                    Event event = events.get(e++);
+                    changes.add(EventChange.builder()
+                            .version(event.getChangeVersion())
+                            .type(EventChangeType.UPSERTED)
+                            .eventId(event.getId())
+                            .event(mapToEventResponse(event))
+                            .build());
+                } else {
+                    EventTombstone tombstone = tombstones.get(t++);
+                    changes.add(EventChange.builder()
+                            .version(tombstone.getChangeVersion())
+                            .type(Boolean.TRUE.equals(tombstone.getArchived())
+                                    ? EventChangeType.ARCHIVED : EventChangeType.DELETED)
+                            .eventId(tombstone.getEventId())
+                            .build());
+                }
+            }
+
+            // When everything was returned the caller is caught up to the last version
+            boolean hasMore = events.size() + tombstones.size() > size;
+            return EventChangesResponse.builder()
+                    .changes(changes)
+                    .version(hasMore ? changes.get(changes.size() - 1).getVersion() : Math.max(since, until))
+                    .hasMore(hasMore)
+                    .build();
+        });
+    }
+
+    /**
+     * Re-reads an event written by another node and publishes the change locally, so the views
+     * kept on this node catch up the same way as after a local write.
+     */
+    public void publishRemoteChange(ChangeType type, Long id) {
+        EventResponse event = readOnlyTransaction().execute(status ->
+                eventRepository.findAllWithOrganizerByIdIn(List.of(id)).stream()
+                        .findFirst()
+                        .map(this::mapToEventResponse)
+                        .orElse(null));
+        eventPublisher.publishEvent(new EventChangedEvent(event == null ? ChangeType.DELETED : type, id, event));
     }
 
     @Transactional
@@ -121,13 +303,16 @@ public class EventService {
                 .date(eventRequest.getDate())
                 .location(eventRequest.getLocation())
                 .organizer(currentUser)
+                .changeVersion(eventSyncService.nextVersion())
                 .build();
 
         // Save event
         event = eventRepository.save(event);
 
-        // Return event response
-        return mapToEventResponse(event);
+        // Notify listeners and return event response
+        EventResponse eventResponse = mapToEventResponse(event);
+        eventPublisher.publishEvent(new EventChangedEvent(ChangeType.CREATED, event.getId(), eventResponse));
+        return eventResponse;
     }
 
     @Transactional
@@ -149,12 +334,15 @@ public class EventService {
         event.setDescription(eventRequest.getDescription());
         event.setDate(eventRequest.getDate());
         event.setLocation(eventRequest.getLocation());
+        event.setChangeVersion(eventSyncService.nextVersion());
 
-        // Save updated event
-        event = eventRepository.save(event);
+        // Save updated event, flushing so the update timestamp is set before mapping
+        event = eventRepository.saveAndFlush(event);
 
-        // Return event response
-        return mapToEventResponse(event);
+        // Notify listeners and return event response
+        EventResponse eventResponse = mapToEventResponse(event);
+        eventPublisher.publishEvent(new EventChangedEvent(ChangeType.UPDATED, event.getId(), eventResponse));
+        return eventResponse;
     }
 
     @Transactional
@@ -173,13 +361,26 @@ public class EventService {
 
         // Delete event
         eventRepository.delete(event);
+        eventSyncService.recordDeletion(id);
+        eventPublisher.publishEvent(new EventChangedEvent(ChangeType.DELETED, id, null));
     }
 
     @Transactional(readOnly = true)
     public List<EventResponse> getMyEvents() {
+        return getMyEvents(null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventResponse> getMyEvents(String fields, String view) {
         // Get current user
         User currentUser = getCurrentUser();
 
+        // Read only the requested columns of the user's events
+        Set<EventField> projection = parseProjection(fields, view);
+        if (projection != null) {
+            return findProjected(projection, view, EventSpecifications.organizedBy(currentUser.getId()));
+        }
+
         // Get events organized by current user
         List<Event> events = eventRepository.findByOrganizer(currentUser);
 
@@ -191,19 +392,145 @@ public class EventService {
 
     @Transactional(readOnly = true)
     public List<EventResponse> getAttendingEvents() {
+        return getAttendingEvents(null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventResponse> getAttendingEvents(String fields, String view) {
         // Get current user
         User currentUser = getCurrentUser();
 
+        // Archived events the user attended come first, as they are the oldest
+        Set<EventField> projection = parseProjection(fields, view);
+        List<EventResponse> eventResponses = new ArrayList<>();
+        for (ArchivedEvent archived : archivedEventRepository.findAttendedBy(currentUser.getId())) {
+            EventResponse eventResponse = mapToEventResponse(archived);
+            eventResponses.add(projection != null ? project(eventResponse, projection, snippetLength(view)) : eventResponse);
+        }
+
+        // Read only the requested columns of the events the user is attending
+        if (projection != null) {
+            eventResponses.addAll(findProjected(projection, view, EventSpecifications.withRsvpFrom(currentUser.getId())));
+            return eventResponses;
+        }
+
         // Get events the user is attending
         List<Event> events = eventRepository.findAttendingEvents(currentUser.getId());
 
         // Map to DTOs and return
-        return events.stream()
-                .map(this::mapToEventResponse)
-                .collect(Collectors.toList());
+        events.forEach(event -> eventResponses.add(mapToEventResponse(event)));
+        return eventResponses;
     }
 
     // Helper methods
+    private Page<Event> findEvents(String name, LocalDateTime date, boolean upcoming, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (date != null) {
+            // Date filter, optionally narrowed to upcoming events and by name
+            LocalDateTime dateStart = date.with(LocalTime.MIN);
+            LocalDateTime dateEnd = date.with(LocalTime.MAX);
+            if (upcoming && dateStart.isBefore(now)) {
+                dateStart = now;
+            }
+            return name != null
+                    ? eventRepository.findByNameAndDateRange(name, dateStart, dateEnd, pageable)
+                    : eventRepository.findByDateBetween(dateStart, dateEnd, pageable);
+        } else if (name != null) {
+            // Only name filter
+            return upcoming
+                    ? eventRepository.findByNameContainingIgnoreCaseAndDateGreaterThanEqual(name, now, pageable)
+                    : eventRepository.findByNameContainingIgnoreCase(name, pageable);
+        } else {
+            // No filters
+            return upcoming
+                    ? eventRepository.findByDateGreaterThanEqual(now, pageable)
+                    : eventRepository.findAll(pageable);
+        }
+    }
+
+    // Same filters as findEvents, for projected reads
+    private Specification<Event> eventSpecification(String name, LocalDateTime date, boolean upcoming) {
+        LocalDateTime now = LocalDateTime.now();
+        Specification<Event> spec = Specification.where(null);
+
+        if (date != null) {
+            LocalDateTime dateStart = date.with(LocalTime.MIN);
+            LocalDateTime dateEnd = date.with(LocalTime.MAX);
+            if (upcoming && dateStart.isBefore(now)) {
+                dateStart = now;
+            }
+            spec = spec.and(EventSpecifications.dateBetween(dateStart, dateEnd));
+        } else if (upcoming) {
+            spec = spec.and(EventSpecifications.dateFrom(now));
+        }
+        if (name != null) {
+            spec = spec.and(EventSpecifications.nameContains(name));
+        }
+        return spec;
+    }
+
+    private List<EventResponse> findProjected(Set<EventField> projection, String view, Specification<Event> spec) {
+        int snippetLength = snippetLength(view);
+        return eventRepository.findProjected(projection, snippetLength, spec, Sort.by("date").ascending())
+                .stream()
+                .map(row -> mapToEventResponse(row, snippetLength))
+                .collect(Collectors.toList());
+    }
+
+    // Null when the full events are wanted
+    private Set<EventField> parseProjection(String fields, String view) {
+        boolean summary = isSummaryView(view);
+        if (fields == null || fields.isBlank()) {
+            return summary ? SUMMARY_FIELDS : null;
+        }
+
+        Set<EventField> projection = EnumSet.noneOf(EventField.class);
+        for (String field : fields.split(",")) {
+            String fieldName = field.trim();
+            if (!fieldName.isEmpty()) {
+                projection.add(EventField.fromFieldName(fieldName)
+                        .orElseThrow(() -> new BadRequestException("Unknown event field: " + fieldName)));
+            }
+        }
+        if (projection.isEmpty()) {
+            return summary ? SUMMARY_FIELDS : null;
+        }
+        return projection;
+    }
+
+    private static boolean isSummaryView(String view) {
+        if (view == null || view.equals("full")) {
+            return false;
+        }
+        if (view.equals("summary")) {
+            return true;
+        }
+        throw new BadRequestException("Unknown view: " + view + ", expected summary or full");
+    }
+
+    private int snippetLength(String view) {
+        return isSummaryView(view) ? summarySnippetLength : 0;
+    }
+
+    // Cut at the snippet length, marking the cut with an ellipsis
+    private static String snippet(String description, int snippetLength) {
+        if (description == null || snippetLength <= 0 || description.length() <= snippetLength) {
+            return description;
+        }
+        return description.substring(0, snippetLength).stripTrailing() + "…";
+    }
+
+    private record ListingKey(String name, LocalDateTime date, boolean upcoming, int page, int size,
+                              Set<EventField> projection, int snippetLength) {
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
     private EventResponse mapToEventResponse(Event event) {
         return EventResponse.builder()
                 .id(event.getId())
@@ -217,6 +544,58 @@ public class EventService {
                 .build();
     }
 
+    private EventResponse mapToEventResponse(ArchivedEvent event) {
+        return EventResponse.builder()
+                .id(event.getId())
+                .name(event.getName())
+                .description(event.getDescription())
+                .date(event.getDate())
+                .location(event.getLocation())
+                .organizer(mapToUserDto(event.getOrganizer()))
+                .createdAt(event.getCreatedAt())
+                .updatedAt(event.getUpdatedAt())
+                .build();
+    }
+
+    // Projected rows only carry the selected columns
+    private EventResponse mapToEventResponse(EventRow row, int snippetLength) {
+        UserDto organizer = null;
+        if (row.getOrganizerId() != null) {
+            organizer = UserDto.builder()
+                    .id(row.getOrganizerId())
+                    .username(row.getOrganizerUsername())
+                    .email(row.getOrganizerEmail())
+                    .createdAt(row.getOrganizerCreatedAt())
+                    .build();
+        }
+
+        return new ProjectedEventResponse(EventResponse.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(snippet(row.getDescription(), snippetLength))
+                .date(row.getDate())
+                .location(row.getLocation())
+                .organizer(organizer)
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build());
+    }
+
+    // Copy of a full event with only the projected fields set
+    private EventResponse project(EventResponse event, Set<EventField> projection, int snippetLength) {
+        return new ProjectedEventResponse(EventResponse.builder()
+                .id(projection.contains(EventField.ID) ? event.getId() : null)
+                .name(projection.contains(EventField.NAME) ? event.getName() : null)
+                .description(projection.contains(EventField.DESCRIPTION)
+                        ? snippet(event.getDescription(), snippetLength) : null)
+                .date(projection.contains(EventField.DATE) ? event.getDate() : null)
+                .location(projection.contains(EventField.LOCATION) ? event.getLocation() : null)
+                .organizer(projection.contains(EventField.ORGANIZER) ? event.getOrganizer() : null)
+                .createdAt(projection.contains(EventField.CREATED_AT) ? event.getCreatedAt() : null)
+                .updatedAt(projection.contains(EventField.UPDATED_AT) ? event.getUpdatedAt() : null)
+                .build());
+    }
+
     private UserDto mapToUserDto(User user) {
         return UserDto.builder()
                 .id(user.getId())
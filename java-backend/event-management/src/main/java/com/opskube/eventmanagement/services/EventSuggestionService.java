@@ -0,0 +1,294 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.dto.EventDto.EventResponse;
+import com.opskube.eventmanagement.dto.SuggestionDto.SuggestionResponse;
+import com.opskube.eventmanagement.dto.SuggestionDto.SuggestionType;
+import com.opskube.eventmanagement.dto.SuggestionDto.SuggestionsResponse;
+import com.opskube.eventmanagement.model.Rsvp;
+import com.opskube.eventmanagement.repository.EventRepository;
+import com.opskube.eventmanagement.repository.EventSuggestionRow;
+import com.opskube.eventmanagement.util.PrefixIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead suggestions over event names and distinct locations.
+ * Reads are served from an immutable {@link PrefixIndex} plus a small overlay of changes
+ * committed since it was built; the index is rebuilt from the database once the overlay
+ * grows past a threshold and periodically, so rankings follow dates and attendance.
+ * Each indexed event remembers its location, so a location is no longer suggested once every
+ * indexed event there has changed or been deleted, without waiting for the next rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventSuggestionService {
+
+    private static final byte KIND_EVENT = 0;
+    private static final byte KIND_LOCATION = 1;
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.suggest.max-limit:20}")
+    private int maxLimit;
+
+    @Value("${app.suggest.compaction-threshold:500}")
+    private int compactionThreshold;
+
+    @Value("${app.suggest.refresh-interval-ms:600000}")
+    private long refreshIntervalMs;
+
+    // The index and the changes committed since it was built, replaced together
+    private volatile Overlay overlay = Overlay.of(PrefixIndex.empty(), new String[0], new int[0], Map.of());
+    private volatile long lastRebuildMillis;
+
+    // Changes are tagged with an increasing sequence
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Locks rather than synchronized, so a virtual thread streaming rows does not pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock overlayLock = new ReentrantLock();
+
+    public SuggestionsResponse suggest(String prefix, int limit) {
+        // Validate parameters
+        String key = PrefixIndex.normalize(prefix);
+        limit = Math.min(maxLimit, Math.max(1, limit));
+        if (key.isEmpty()) {
+            return SuggestionsResponse.builder().suggestions(List.of()).build();
+        }
+
+        // Search the built index, skipping events that changed since it was built and asking for
+        // enough extra hits to make up for locations no indexed event is at any more
+        Overlay current = overlay;
+        LocalDateTime now = LocalDateTime.now();
+        int vacated = (int) current.vacatedLocations().stream()
+                .filter(location -> PrefixIndex.matchesWord(location, key))
+                .count();
+        List<PrefixIndex.Hit> hits = new ArrayList<>(
+                current.index().search(key, limit + vacated, current.events()::containsKey));
+        hits.removeIf(hit -> hit.kind() == KIND_LOCATION
+                && current.vacatedLocations().contains(PrefixIndex.normalize(hit.text())));
+
+        // Merge in the pending changes
+        current.events().forEach((eventId, pending) -> {
+            if (pending.name() == null) {
+                return;
+            }
+            if (PrefixIndex.matchesWord(PrefixIndex.normalize(pending.name()), key)) {
+                hits.add(new PrefixIndex.Hit(pending.name(), KIND_EVENT, eventId, pending.attendeeCount(),
+                        score(pending.date(), pending.attendeeCount(), now)));
+            }
+            String locationKey = PrefixIndex.normalize(pending.location());
+            if (!locationKey.isEmpty() && PrefixIndex.matchesWord(locationKey, key)) {
+                hits.add(new PrefixIndex.Hit(pending.location().trim(), KIND_LOCATION, -1, 1,
+                        score(pending.date(), 0, now)));
+            }
+        });
+
+        // Rank, dropping locations that are both indexed and pending
+        hits.sort(Comparator.comparing(PrefixIndex.Hit::weight).reversed());
+        List<SuggestionResponse> suggestions = new ArrayList<>(limit);
+        Set<String> seenLocations = new HashSet<>();
+        for (PrefixIndex.Hit hit : hits) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            if (hit.kind() == KIND_LOCATION && !seenLocations.add(PrefixIndex.normalize(hit.text()))) {
+                continue;
+            }
+            suggestions.add(mapToSuggestionResponse(hit));
+        }
+
+        return SuggestionsResponse.builder()
+                .suggestions(suggestions)
+                .build();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        EventResponse event = change.getEvent();
+        overlayLock.lock();
+        try {
+            Overlay current = overlay;
+            long seq = sequence.incrementAndGet();
+            Map<Long, PendingEvent> events = new HashMap<>(current.events());
+            if (event == null) {
+                // Deleted events are masked out of the index until the next rebuild
+                events.put(change.getEventId(), new PendingEvent(seq, null, null, null, 0));
+            } else {
+                // Keep the attendee count the index already knows about, new events start at zero
+                int attendeeCount = Math.max(0, current.index().countOf(change.getEventId()));
+                events.put(change.getEventId(), new PendingEvent(seq, event.getName(), event.getLocation(),
+                        event.getDate(), attendeeCount));
+            }
+            overlay = current.with(events);
+        } finally {
+            overlayLock.unlock();
+        }
+    }
+
+    // Build the first index once startup runners (such as the seeder) have finished
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.suggest.check-interval-ms:5000}",
+            fixedDelayString = "${app.suggest.check-interval-ms:5000}")
+    public void refreshIfNeeded() {
+        boolean expired = System.currentTimeMillis() - lastRebuildMillis >= refreshIntervalMs;
+        if (expired || overlay.events().size() >= compactionThreshold) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        long startSequence = sequence.get();
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Stream all events once, aggregating locations on the way
+        PrefixIndex.Builder builder = PrefixIndex.builder();
+        Map<String, LocationStats> locations = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<EventSuggestionRow> rows = eventRepository.streamSuggestionRows(Rsvp.RsvpStatus.ATTENDING)) {
+                rows.forEach(row -> {
+                    int attendeeCount = (int) row.getAttendeeCount();
+                    float score = score(row.getDate(), attendeeCount, now);
+                    LocationStats stats = locations.computeIfAbsent(PrefixIndex.normalize(row.getLocation()),
+                            key -> new LocationStats(locations.size(), row.getLocation().trim()));
+                    builder.add(row.getName(), KIND_EVENT, row.getId(), attendeeCount, score, stats.ordinal);
+
+                    stats.weight += score;
+                    stats.events++;
+                    if (!row.getDate().isBefore(now)) {
+                        stats.upcomingEvents++;
+                    }
+                });
+            }
+        });
+        String[] locationKeys = new String[locations.size()];
+        int[] locationEvents = new int[locations.size()];
+        locations.forEach((key, stats) -> {
+            builder.add(stats.text, KIND_LOCATION, -1, stats.upcomingEvents, stats.weight, stats.ordinal);
+            locationKeys[stats.ordinal] = key;
+            locationEvents[stats.ordinal] = stats.events;
+        });
+
+        // Swap in the new index, keeping only the pending changes it does not reflect yet
+        PrefixIndex rebuilt = builder.build();
+        overlayLock.lock();
+        try {
+            Map<Long, PendingEvent> events = new HashMap<>(overlay.events());
+            events.values().removeIf(pending -> pending.sequence() <= startSequence);
+            overlay = Overlay.of(rebuilt, locationKeys, locationEvents, events);
+        } finally {
+            overlayLock.unlock();
+        }
+        lastRebuildMillis = System.currentTimeMillis();
+
+        log.info("Suggestion index rebuilt: {} suggestions, {} entries, ~{} KB in {} ms",
+                rebuilt.size(), rebuilt.entryCount(), rebuilt.estimatedBytes() / 1024,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    // Helper methods
+    private SuggestionResponse mapToSuggestionResponse(PrefixIndex.Hit hit) {
+        boolean isEvent = hit.kind() == KIND_EVENT;
+        return SuggestionResponse.builder()
+                .text(hit.text())
+                .type(isEvent ? SuggestionType.EVENT : SuggestionType.LOCATION)
+                .eventId(isEvent ? hit.ref() : null)
+                .build();
+    }
+
+    // Upcoming events outrank past ones; sooner and better attended events rank higher
+    private static float score(LocalDateTime date, int attendeeCount, LocalDateTime now) {
+        double popularity = 1 + Math.log1p(attendeeCount);
+        if (date == null || date.isBefore(now)) {
+            return (float) (0.1 * popularity);
+        }
+        double daysAway = Duration.between(now, date).toHours() / 24.0;
+        return (float) ((1 + 30 / (30 + daysAway)) * popularity);
+    }
+
+    private record PendingEvent(long sequence, String name, String location, LocalDateTime date,
+                                int attendeeCount) {
+    }
+
+    /**
+     * The index with the changes committed since it was built. Locations are numbered when the
+     * index is built, and an indexed location is vacated once every indexed event there is pending.
+     */
+    private record Overlay(PrefixIndex index, String[] locationKeys, int[] locationEvents,
+                           Map<Long, PendingEvent> events, Set<String> vacatedLocations) {
+
+        static Overlay of(PrefixIndex index, String[] locationKeys, int[] locationEvents,
+                          Map<Long, PendingEvent> events) {
+            return new Overlay(index, locationKeys, locationEvents, Map.copyOf(events), Set.of())
+                    .with(events);
+        }
+
+        Overlay with(Map<Long, PendingEvent> events) {
+            // Count the indexed events that moved away from each location
+            Map<Integer, Integer> movedAway = new HashMap<>();
+            events.keySet().forEach(eventId -> {
+                int location = index.groupOf(eventId);
+                if (location >= 0) {
+                    movedAway.merge(location, 1, Integer::sum);
+                }
+            });
+            Set<String> vacated = new HashSet<>();
+            movedAway.forEach((location, count) -> {
+                if (count >= locationEvents[location]) {
+                    vacated.add(locationKeys[location]);
+                }
+            });
+            return new Overlay(index, locationKeys, locationEvents, Map.copyOf(events), Set.copyOf(vacated));
+        }
+    }
+
+    private static final class LocationStats {
+        private final int ordinal;
+        private final String text;
+        private float weight;
+        private int events;
+        private int upcomingEvents;
+
+        private LocationStats(int ordinal, String text) {
+            this.ordinal = ordinal;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.model.ChangeCounter;
+import com.opskube.eventmanagement.model.EventTombstone;
+import com.opskube.eventmanagement.repository.ChangeCounterRepository;
+import com.opskube.eventmanagement.repository.EventRepository;
+import com.opskube.eventmanagement.repository.EventTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out the change versions behind {@code GET /events/changes}. Every event write takes the
+ * next value of a counter row and stamps it on the event, or on a tombstone for deletions and
+ * archived events. The counter row stays locked until the writing transaction ends, so versions
+ * commit in order and a reader bounded by the last committed version never skips a change that
+ * commits later.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventSyncService {
+
+    private static final String VERSION_COUNTER = "event-version";
+    // Highest version whose tombstone has been purged
+    private static final String PURGED_COUNTER = "event-tombstones-purged";
+
+    private final ChangeCounterRepository changeCounterRepository;
+    private final EventRepository eventRepository;
+    private final EventTombstoneRepository eventTombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    @PostConstruct
+    void createCounters() {
+        createCounter(VERSION_COUNTER);
+        createCounter(PURGED_COUNTER);
+    }
+
+    // Called from the writing transaction, which then holds the counter until it commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextVersion() {
+        changeCounterRepository.advance(VERSION_COUNTER, 1);
+        return currentVersion();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long eventId) {
+        eventTombstoneRepository.save(EventTombstone.builder()
+                .eventId(eventId)
+                .changeVersion(nextVersion())
+                .build());
+    }
+
+    // One version per event, taken as a single block
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordArchival(List<Long> eventIds) {
+        changeCounterRepository.advance(VERSION_COUNTER, eventIds.size());
+        long base = currentVersion() - eventIds.size();
+        List<EventTombstone> tombstones = new ArrayList<>(eventIds.size());
+        for (int i = 0; i < eventIds.size(); i++) {
+            tombstones.add(EventTombstone.builder()
+                    .eventId(eventIds.get(i))
+                    .changeVersion(base + i + 1)
+                    .archived(true)
+                    .build());
+        }
+        eventTombstoneRepository.saveAll(tombstones);
+    }
+
+    // The last committed version, or this transaction's own if it took one
+    public long currentVersion() {
+        return changeCounterRepository.findLastValue(VERSION_COUNTER).orElse(0L);
+    }
+
+    public long purgedVersion() {
+        return changeCounterRepository.findLastValue(PURGED_COUNTER).orElse(0L);
+    }
+
+    // Events written around the service, such as by the seeder, get versions once startup is done
+    @EventListener(ApplicationReadyEvent.class)
+    public void stampUnversionedEvents() {
+        Integer stamped = transactionTemplate.execute(status -> {
+            long maxId = eventRepository.findMaxUnversionedId();
+            if (maxId == 0) {
+                return 0;
+            }
+            // Reserve a block of versions wide enough to add each event's id to its start
+            changeCounterRepository.advance(VERSION_COUNTER, maxId);
+            return eventRepository.stampUnversioned(currentVersion() - maxId);
+        });
+        if (stamped != null && stamped > 0) {
+            log.info("Assigned change versions to {} events", stamped);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.sync.purge-interval-ms:3600000}",
+            fixedDelayString = "${app.sync.purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        LocalDateTime before = LocalDateTime.now().minus(tombstoneRetention);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Record how far deletions were dropped, so older sync positions are refused
+            changeCounterRepository.raiseTo(PURGED_COUNTER, eventTombstoneRepository.findMaxVersionDeletedBefore(before));
+            int purged = eventTombstoneRepository.deleteDeletedBefore(before);
+            if (purged > 0) {
+                log.info("Purged {} event tombstones", purged);
+            }
+        });
+    }
+
+    private void createCounter(String name) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!changeCounterRepository.existsById(name)) {
+                    changeCounterRepository.saveAndFlush(ChangeCounter.builder().name(name).lastValue(0).build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+        }
+    }
+}
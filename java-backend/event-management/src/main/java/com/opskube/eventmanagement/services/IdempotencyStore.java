@@ -0,0 +1,36 @@
+package com.opskube.eventmanagement.services;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Remembers the responses of requests sent with an {@code Idempotency-Key}, so that a retry is
+ * answered with the original response instead of being executed again. Keys are claimed before
+ * the request runs and completed with its response afterwards.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Records the key as in progress, returning empty if this caller now owns it, or the entry
+     * already stored for it, which may still be in progress.
+     */
+    Optional<Entry> claim(String key, String fingerprint, LocalDateTime expiresAt);
+
+    void complete(String key, Entry entry);
+
+    // Forgets a claimed key so the request can be retried, for example after a server error
+    void release(String key);
+
+    int evictExpired(LocalDateTime now);
+
+    /**
+     * A stored response, or a claim with a status of zero while the request is still running.
+     * The fingerprint identifies the request the key was first used with.
+     */
+    record Entry(String fingerprint, int status, String contentType, byte[] body, LocalDateTime expiresAt) {
+
+        public boolean isCompleted() {
+            return status != 0;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.config.IdempotencyProperties;
+import com.opskube.eventmanagement.exception.ApiException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-node {@link IdempotencyStore} holding at most {@code app.idempotency.max-entries} keys.
+ * Every key lives for the same TTL, so insertion order is expiry order and both the size bound
+ * and expiry evict from the oldest end. The size bound only ever evicts completed entries: an
+ * evicted claim would let a retry run alongside the original, so when every entry is still in
+ * progress new claims are refused with a 503 instead.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        this.maxEntries = properties.getMaxEntries();
+    }
+
+    @Override
+    public Optional<Entry> claim(String key, String fingerprint, LocalDateTime expiresAt) {
+        lock.lock();
+        try {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.expiresAt().isAfter(LocalDateTime.now())) {
+                return Optional.of(existing);
+            }
+            if (entries.remove(key) == null && entries.size() >= maxEntries) {
+                makeRoom();
+            }
+            entries.put(key, new Entry(fingerprint, 0, null, null, expiresAt));
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void complete(String key, Entry entry) {
+        lock.lock();
+        try {
+            // Replacing keeps the key's position, so the map stays in expiry order
+            entries.replace(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops the oldest entry that is expired or completed, skipping claims still in progress
+    private void makeRoom() {
+        LocalDateTime now = LocalDateTime.now();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.isCompleted() || !entry.expiresAt().isAfter(now)) {
+                iterator.remove();
+                return;
+            }
+        }
+        throw new ApiException("Too many requests with an Idempotency-Key are in progress, please retry shortly",
+                HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Override
+    public int evictExpired(LocalDateTime now) {
+        int evicted = 0;
+        lock.lock();
+        try {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext() && !iterator.next().expiresAt().isAfter(now)) {
+                iterator.remove();
+                evicted++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,162 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.dto.EventDto.EventResponse;
+import com.opskube.eventmanagement.repository.EventRepository;
+import com.opskube.eventmanagement.repository.EventRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Serves upcoming and future-day event listings from an in-memory {@link UpcomingEventsSnapshot}.
+ * Committed event writes are applied to a copy of the snapshot that is then swapped in, and the
+ * whole snapshot is periodically rebuilt from the database to move its cutoff forward.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UpcomingEventsService {
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.upcoming.enabled:true}")
+    private boolean enabled;
+
+    // Null until the first build has completed
+    private volatile UpcomingEventsSnapshot snapshot;
+
+    // Guarded by this: arena of the current snapshot, and changes seen while rebuilding
+    private UpcomingEventsSnapshot.StringArena arena;
+    private List<EventChangedEvent> changesDuringRebuild;
+
+    /**
+     * Returns the page if the snapshot can answer it exactly: listings of upcoming events, or of
+     * a day that starts after the snapshot cutoff. Name-filtered listings are never served here.
+     */
+    public Optional<Slice> findEvents(LocalDateTime date, boolean upcoming, int page, int size) {
+        UpcomingEventsSnapshot current = snapshot;
+        if (!enabled || current == null) {
+            return Optional.empty();
+        }
+
+        // Resolve the requested date range to a row range
+        LocalDateTime now = LocalDateTime.now();
+        int from;
+        int to;
+        if (date != null) {
+            LocalDateTime dateStart = date.with(LocalTime.MIN);
+            LocalDateTime dateEnd = date.with(LocalTime.MAX);
+            if (upcoming && dateStart.isBefore(now)) {
+                dateStart = now;
+            }
+            if (dateStart.isBefore(current.getCutoff())) {
+                return Optional.empty();
+            }
+            from = current.firstRowAtOrAfter(dateStart);
+            to = Math.max(from, current.firstRowAfter(dateEnd));
+        } else if (upcoming) {
+            from = current.firstRowAtOrAfter(now);
+            to = current.size();
+        } else {
+            return Optional.empty();
+        }
+
+        // Materialize only the requested page
+        long offset = (long) page * size;
+        int pageFrom = (int) Math.min(to, from + offset);
+        int pageTo = (int) Math.min(to, (long) pageFrom + size);
+        return Optional.of(new Slice(current.rows(pageFrom, pageTo), to - from));
+    }
+
+    // The event if it is dated after the snapshot cutoff
+    public Optional<EventResponse> findById(long id) {
+        UpcomingEventsSnapshot current = snapshot;
+        if (!enabled || current == null) {
+            return Optional.empty();
+        }
+        int row = current.rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(current.row(row));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onEventChanged(EventChangedEvent change) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+        if (snapshot != null) {
+            snapshot = snapshot.apply(change.getEventId(), change.getEvent(), arena);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(initialDelayString = "${app.upcoming.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.upcoming.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        // Read without holding the lock, so writers are not blocked behind the query
+        UpcomingEventsSnapshot.Builder builder = new UpcomingEventsSnapshot.Builder(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<EventRow> rows = eventRepository.streamUpcomingRows(builder.getCutoff())) {
+                    rows.forEach(row -> builder.add(row.getId(), row.getName(), row.getDescription(), row.getDate(),
+                            row.getLocation(), row.getCreatedAt(), row.getUpdatedAt(), row.getOrganizerId(),
+                            row.getOrganizerUsername(), row.getOrganizerEmail(), row.getOrganizerCreatedAt()));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        // Swap in the rebuilt snapshot, replaying writes that may have raced with the query
+        UpcomingEventsSnapshot rebuilt;
+        synchronized (this) {
+            arena = builder.arena();
+            rebuilt = builder.build();
+            for (EventChangedEvent change : changesDuringRebuild) {
+                rebuilt = rebuilt.apply(change.getEventId(), change.getEvent(), arena);
+            }
+            changesDuringRebuild = null;
+            snapshot = rebuilt;
+        }
+
+        log.info("Upcoming events snapshot rebuilt: {} events, {} KB of strings in {} ms",
+                rebuilt.size(), rebuilt.stringBytes() / 1024,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * One page of a snapshot listing and the total number of matching events.
+     */
+    public record Slice(List<EventResponse> events, long totalEvents) {
+    }
+}
@@ -0,0 +1,576 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.dto.EventDto.EventResponse;
+import com.opskube.eventmanagement.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, date-sorted columnar copy of every event dated at or after {@link #getCutoff()}.
+ * Rows are kept in chunks of a few hundred, each with its fixed-width columns in primitive arrays,
+ * and all strings live in one packed UTF-8 region, so a large snapshot is a small number of
+ * objects for the GC and listings are a binary search on the date column followed by
+ * materializing only the requested page. A write copies the one or two chunks it touches and
+ * shares the rest with the previous snapshot.
+ */
+final class UpcomingEventsSnapshot {
+
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int LOCATION = 2;
+    private static final int ORGANIZER_USERNAME = 3;
+    private static final int ORGANIZER_EMAIL = 4;
+    private static final int STRING_FIELDS = 5;
+
+    // Rows per chunk when building; a chunk that grows to twice this is split in two
+    static final int CHUNK_SIZE = 512;
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final LocalDateTime cutoff;
+
+    // Chunks in (date, id) order, with the row number each one starts at and a final total
+    private final Chunk[] chunks;
+    private final int[] chunkStarts;
+
+    // Where the chunk with each slot number sits in chunks, and the slot holding each event id
+    private final int[] slotPositions;
+    private final IdSlots idSlots;
+    private final int nextSlot;
+
+    private final byte[] strings;
+    private final int stringBytes;
+
+    private UpcomingEventsSnapshot(LocalDateTime cutoff, List<Chunk> chunks, IdSlots idSlots, int nextSlot,
+                                   StringArena arena) {
+        this.cutoff = cutoff;
+        this.chunks = chunks.toArray(Chunk[]::new);
+        this.chunkStarts = new int[this.chunks.length + 1];
+        this.slotPositions = new int[nextSlot];
+        Arrays.fill(slotPositions, -1);
+        for (int position = 0; position < this.chunks.length; position++) {
+            chunkStarts[position + 1] = chunkStarts[position] + this.chunks[position].size;
+            slotPositions[this.chunks[position].slot] = position;
+        }
+        this.idSlots = idSlots;
+        this.nextSlot = nextSlot;
+        this.strings = arena.bytes;
+        this.stringBytes = arena.length;
+    }
+
+    LocalDateTime getCutoff() {
+        return cutoff;
+    }
+
+    int size() {
+        return chunkStarts[chunks.length];
+    }
+
+    // Bytes of the string arena in use, including space left behind by replaced rows
+    int stringBytes() {
+        return stringBytes;
+    }
+
+    // First row dated at or after the given time
+    int firstRowAtOrAfter(LocalDateTime time) {
+        return search(toMicros(time), false);
+    }
+
+    // First row dated strictly after the given time
+    int firstRowAfter(LocalDateTime time) {
+        return search(toMicros(time), true);
+    }
+
+    // Row of the given event id, or -1
+    int rowOf(long id) {
+        int slot = idSlots.get(id);
+        if (slot < 0) {
+            return -1;
+        }
+        int position = slotPositions[slot];
+        int index = chunks[position].indexOf(id);
+        return index < 0 ? -1 : chunkStarts[position] + index;
+    }
+
+    EventResponse row(int row) {
+        int position = chunkOf(row);
+        return chunks[position].toEventResponse(row - chunkStarts[position], strings);
+    }
+
+    List<EventResponse> rows(int from, int to) {
+        List<EventResponse> events = new ArrayList<>(Math.max(0, to - from));
+        int position = from < to ? chunkOf(from) : 0;
+        for (int row = from; row < to; row++) {
+            while (row >= chunkStarts[position + 1]) {
+                position++;
+            }
+            events.add(chunks[position].toEventResponse(row - chunkStarts[position], strings));
+        }
+        return events;
+    }
+
+    /**
+     * Returns a snapshot without the row of {@code removedId} and, when {@code event} is dated
+     * at or after the cutoff, with it inserted in date order. Only the chunks holding the removed
+     * and the inserted row are copied, and only the changed row's strings are appended to the
+     * shared arena.
+     */
+    UpcomingEventsSnapshot apply(long removedId, EventResponse event, StringArena arena) {
+        int removedSlot = idSlots.get(removedId);
+        boolean insert = event != null && !event.getDate().isBefore(cutoff);
+        if (removedSlot < 0 && !insert) {
+            return this;
+        }
+
+        List<Chunk> changed = new ArrayList<>(Arrays.asList(chunks));
+        IdSlots.Editor slots = idSlots.edit();
+        int slotCount = nextSlot;
+
+        // Take the old row out of its chunk, dropping the chunk once it is empty
+        if (removedSlot >= 0) {
+            int position = slotPositions[removedSlot];
+            Chunk chunk = changed.get(position).without(removedId);
+            if (chunk.size == 0) {
+                changed.remove(position);
+            } else {
+                changed.set(position, chunk);
+            }
+            slots.put(removedId, -1);
+        }
+
+        // Put the new row into the chunk its date falls in, splitting the chunk when it gets too big
+        if (insert) {
+            long date = toMicros(event.getDate());
+            int position = insertionChunk(changed, date, event.getId());
+            if (position < 0) {
+                Chunk chunk = new Chunk(slotCount++, 1);
+                chunk.add(event, arena);
+                changed.add(chunk);
+                slots.put(event.getId(), chunk.slot);
+            } else {
+                Chunk chunk = changed.get(position).with(event, date, arena);
+                if (chunk.size < 2 * CHUNK_SIZE) {
+                    changed.set(position, chunk);
+                    slots.put(event.getId(), chunk.slot);
+                } else {
+                    Chunk first = chunk.range(chunk.slot, 0, CHUNK_SIZE);
+                    Chunk second = chunk.range(slotCount++, CHUNK_SIZE, chunk.size);
+                    changed.set(position, first);
+                    changed.add(position + 1, second);
+                    slots.put(event.getId(), chunk.slot);
+                    for (int row = 0; row < second.size; row++) {
+                        slots.put(second.ids[row], second.slot);
+                    }
+                }
+            }
+        }
+        return new UpcomingEventsSnapshot(cutoff, changed, slots.build(), slotCount, arena);
+    }
+
+    // Chunk whose rows the given (date, id) sorts among, or -1 if there are no chunks
+    private static int insertionChunk(List<Chunk> chunks, long date, long id) {
+        if (chunks.isEmpty()) {
+            return -1;
+        }
+        int low = 0;
+        int high = chunks.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Chunk chunk = chunks.get(mid);
+            int last = chunk.size - 1;
+            if (chunk.dates[last] < date || (chunk.dates[last] == date && chunk.ids[last] <= id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Chunk holding the given row
+    private int chunkOf(int row) {
+        int position = Arrays.binarySearch(chunkStarts, row);
+        position = position >= 0 ? position : -position - 2;
+        return Math.min(position, chunks.length - 1);
+    }
+
+    private int search(long micros, boolean after) {
+        // First chunk whose last row qualifies, then the first qualifying row in it
+        int low = 0;
+        int high = chunks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Chunk chunk = chunks[mid];
+            if (chunk.before(chunk.size - 1, micros, after)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == chunks.length) {
+            return size();
+        }
+        Chunk chunk = chunks[low];
+        int first = 0;
+        int last = chunk.size;
+        while (first < last) {
+            int mid = (first + last) >>> 1;
+            if (chunk.before(mid, micros, after)) {
+                first = mid + 1;
+            } else {
+                last = mid;
+            }
+        }
+        return chunkStarts[low] + first;
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIMESTAMP;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Append-only UTF-8 region shared by a snapshot and the snapshots derived from it.
+     * Writers only append past the length any published snapshot reads, and must be
+     * confined to one thread at a time.
+     */
+    static final class StringArena {
+        private byte[] bytes;
+        private int length;
+
+        StringArena(int capacity) {
+            this.bytes = new byte[Math.max(capacity, 1024)];
+        }
+
+        // Returns where the value ends, encoded as -(end + 1) for null so it reads back as null
+        int append(String value) {
+            if (value == null) {
+                return -length - 1;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            if (length + encoded.length > bytes.length) {
+                // Published snapshots keep the old array, so growing never disturbs readers
+                long capacity = Math.max((long) length + encoded.length, (long) bytes.length * 2);
+                bytes = Arrays.copyOf(bytes, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+            }
+            System.arraycopy(encoded, 0, bytes, length, encoded.length);
+            length += encoded.length;
+            return length;
+        }
+
+        private static int end(int encoded) {
+            return encoded < 0 ? -encoded - 1 : encoded;
+        }
+    }
+
+    /**
+     * Builds a snapshot from rows appended in (date, id) order.
+     */
+    static final class Builder {
+        private final LocalDateTime cutoff;
+        private final StringArena arena = new StringArena(1 << 16);
+        private final List<Chunk> chunks = new ArrayList<>();
+        private final IdSlots.Editor idSlots = new IdSlots.Editor();
+        private Chunk current;
+
+        Builder(LocalDateTime cutoff) {
+            this.cutoff = cutoff;
+        }
+
+        LocalDateTime getCutoff() {
+            return cutoff;
+        }
+
+        Builder add(long id, String name, String description, LocalDateTime date, String location,
+                    LocalDateTime createdAt, LocalDateTime updatedAt, long organizerId,
+                    String organizerUsername, String organizerEmail, LocalDateTime organizerCreatedAt) {
+            if (current == null || current.size == CHUNK_SIZE) {
+                current = new Chunk(chunks.size(), CHUNK_SIZE);
+                chunks.add(current);
+            }
+            current.add(id, name, description, date, location, createdAt, updatedAt, organizerId,
+                    organizerUsername, organizerEmail, organizerCreatedAt, arena);
+            idSlots.put(id, current.slot);
+            return this;
+        }
+
+        StringArena arena() {
+            return arena;
+        }
+
+        UpcomingEventsSnapshot build() {
+            // Only the last chunk can have room left
+            List<Chunk> trimmed = new ArrayList<>(chunks);
+            if (current != null && current.size < CHUNK_SIZE) {
+                trimmed.set(trimmed.size() - 1, current.range(current.slot, 0, current.size));
+            }
+            return new UpcomingEventsSnapshot(cutoff, trimmed, idSlots.build(), chunks.size(), arena);
+        }
+    }
+
+    /**
+     * A run of rows in (date, id) order. Filled once and never changed after it is published;
+     * writes produce new chunks.
+     */
+    private static final class Chunk {
+        private final int slot;
+        private final long[] ids;
+        private final long[] dates;
+        private final long[] createdAts;
+        private final long[] updatedAts;
+        private final long[] organizerIds;
+        private final long[] organizerCreatedAts;
+        // Each row's strings are stored back to back in the arena, starting at rowStarts[row]
+        private final int[] rowStarts;
+        private final int[] fieldEnds;
+        private int size;
+
+        private Chunk(int slot, int capacity) {
+            this.slot = slot;
+            this.ids = new long[capacity];
+            this.dates = new long[capacity];
+            this.createdAts = new long[capacity];
+            this.updatedAts = new long[capacity];
+            this.organizerIds = new long[capacity];
+            this.organizerCreatedAts = new long[capacity];
+            this.rowStarts = new int[capacity];
+            this.fieldEnds = new int[capacity * STRING_FIELDS];
+        }
+
+        // Whether the row sorts before the given date, or at it as well when after is set
+        private boolean before(int row, long micros, boolean after) {
+            return dates[row] < micros || (after && dates[row] == micros);
+        }
+
+        private int indexOf(long id) {
+            for (int row = 0; row < size; row++) {
+                if (ids[row] == id) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+
+        // Copy of the rows from..to, under the given slot
+        private Chunk range(int slot, int from, int to) {
+            Chunk copy = new Chunk(slot, to - from);
+            for (int row = from; row < to; row++) {
+                copy.copy(this, row);
+            }
+            return copy;
+        }
+
+        private Chunk without(long id) {
+            int removed = indexOf(id);
+            Chunk copy = new Chunk(slot, size - 1);
+            for (int row = 0; row < size; row++) {
+                if (row != removed) {
+                    copy.copy(this, row);
+                }
+            }
+            return copy;
+        }
+
+        private Chunk with(EventResponse event, long date, StringArena arena) {
+            int insertAt = 0;
+            while (insertAt < size && (dates[insertAt] < date
+                    || (dates[insertAt] == date && ids[insertAt] <= event.getId()))) {
+                insertAt++;
+            }
+            Chunk copy = new Chunk(slot, size + 1);
+            for (int row = 0; row < size; row++) {
+                if (row == insertAt) {
+                    copy.add(event, arena);
+                }
+                copy.copy(this, row);
+            }
+            if (insertAt == size) {
+                copy.add(event, arena);
+            }
+            return copy;
+        }
+
+        private void copy(Chunk source, int row) {
+            ids[size] = source.ids[row];
+            dates[size] = source.dates[row];
+            createdAts[size] = source.createdAts[row];
+            updatedAts[size] = source.updatedAts[row];
+            organizerIds[size] = source.organizerIds[row];
+            organizerCreatedAts[size] = source.organizerCreatedAts[row];
+            rowStarts[size] = source.rowStarts[row];
+            System.arraycopy(source.fieldEnds, row * STRING_FIELDS, fieldEnds, size * STRING_FIELDS, STRING_FIELDS);
+            size++;
+        }
+
+        private void add(EventResponse event, StringArena arena) {
+            UserDto organizer = event.getOrganizer();
+            add(event.getId(), event.getName(), event.getDescription(), event.getDate(), event.getLocation(),
+                    event.getCreatedAt(), event.getUpdatedAt(), organizer.getId(), organizer.getUsername(),
+                    organizer.getEmail(), organizer.getCreatedAt(), arena);
+        }
+
+        private void add(long id, String name, String description, LocalDateTime date, String location,
+                         LocalDateTime createdAt, LocalDateTime updatedAt, long organizerId,
+                         String organizerUsername, String organizerEmail, LocalDateTime organizerCreatedAt,
+                         StringArena arena) {
+            ids[size] = id;
+            dates[size] = toMicros(date);
+            createdAts[size] = toMicros(createdAt);
+            updatedAts[size] = toMicros(updatedAt);
+            organizerIds[size] = organizerId;
+            organizerCreatedAts[size] = toMicros(organizerCreatedAt);
+            rowStarts[size] = arena.length;
+
+            int fields = size * STRING_FIELDS;
+            fieldEnds[fields + NAME] = arena.append(name);
+            fieldEnds[fields + DESCRIPTION] = arena.append(description);
+            fieldEnds[fields + LOCATION] = arena.append(location);
+            fieldEnds[fields + ORGANIZER_USERNAME] = arena.append(organizerUsername);
+            fieldEnds[fields + ORGANIZER_EMAIL] = arena.append(organizerEmail);
+            size++;
+        }
+
+        private EventResponse toEventResponse(int row, byte[] strings) {
+            UserDto organizer = UserDto.builder()
+                    .id(organizerIds[row])
+                    .username(string(row, ORGANIZER_USERNAME, strings))
+                    .email(string(row, ORGANIZER_EMAIL, strings))
+                    .createdAt(fromMicros(organizerCreatedAts[row]))
+                    .build();
+
+            return EventResponse.builder()
+                    .id(ids[row])
+                    .name(string(row, NAME, strings))
+                    .description(string(row, DESCRIPTION, strings))
+                    .date(fromMicros(dates[row]))
+                    .location(string(row, LOCATION, strings))
+                    .organizer(organizer)
+                    .createdAt(fromMicros(createdAts[row]))
+                    .updatedAt(fromMicros(updatedAts[row]))
+                    .build();
+        }
+
+        private String string(int row, int field, byte[] strings) {
+            int encodedEnd = fieldEnds[row * STRING_FIELDS + field];
+            if (encodedEnd < 0) {
+                return null;
+            }
+            int start = field == 0 ? rowStarts[row] : StringArena.end(fieldEnds[row * STRING_FIELDS + field - 1]);
+            return new String(strings, start, encodedEnd - start, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Persistent map from event id to chunk slot: a radix tree over the id, ten bits per level,
+     * whose updates copy only the nodes on the path to the changed ids.
+     */
+    static final class IdSlots {
+        private static final int BITS = 10;
+        private static final int WIDTH = 1 << BITS;
+        private static final int MASK = WIDTH - 1;
+
+        // Object[] for inner nodes, int[] of slot + 1 (0 when absent) for leaves
+        private final Object root;
+        private final int shift;
+
+        private IdSlots(Object root, int shift) {
+            this.root = root;
+            this.shift = shift;
+        }
+
+        // Slot holding the id, or -1
+        int get(long id) {
+            if (id < 0 || id >>> shift >>> BITS != 0) {
+                return -1;
+            }
+            Object node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = ((Object[]) node)[(int) (id >>> level) & MASK];
+                if (node == null) {
+                    return -1;
+                }
+            }
+            return ((int[]) node)[(int) id & MASK] - 1;
+        }
+
+        // Editor for a copy; this map itself never changes
+        Editor edit() {
+            return new Editor(this);
+        }
+
+        /**
+         * Applies a batch of puts, copying each shared node at most once.
+         */
+        static final class Editor {
+            private Object root;
+            private int shift;
+            // Nodes created by this editor, which it may change in place
+            private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            Editor() {
+                this.root = own(new int[WIDTH]);
+            }
+
+            private Editor(IdSlots source) {
+                this.root = source.root;
+                this.shift = source.shift;
+            }
+
+            // Maps the id to the slot, or removes it when the slot is -1
+            void put(long id, int slot) {
+                if (id < 0) {
+                    return;
+                }
+                while (id >>> shift >>> BITS != 0) {
+                    Object[] grown = own(new Object[WIDTH]);
+                    grown[0] = root;
+                    root = grown;
+                    shift += BITS;
+                }
+                root = put(root, shift, id, slot);
+            }
+
+            private Object put(Object node, int level, long id, int slot) {
+                int index = (int) (id >>> level) & MASK;
+                if (level == 0) {
+                    int[] leaf = node == null ? own(new int[WIDTH])
+                            : owned.contains(node) ? (int[]) node : own(((int[]) node).clone());
+                    leaf[index] = slot + 1;
+                    return leaf;
+                }
+                Object[] inner = node == null ? own(new Object[WIDTH])
+                        : owned.contains(node) ? (Object[]) node : own(((Object[]) node).clone());
+                inner[index] = put(inner[index], level - BITS, id, slot);
+                return inner;
+            }
+
+            private <T> T own(T node) {
+                owned.add(node);
+                return node;
+            }
+
+            IdSlots build() {
+                owned.clear();
+                return new IdSlots(root, shift);
+            }
+        }
+    }
+}
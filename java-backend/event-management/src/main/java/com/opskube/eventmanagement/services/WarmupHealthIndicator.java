@@ -0,0 +1,21 @@
+package com.opskube.eventmanagement.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} on {@code /actuator/health} while {@link WarmupService} runs.
+ */
+@Component("warmup")
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    @Override
+    public Health health() {
+        return warmupService.isWarm() ? Health.up().build() : Health.outOfService().withDetail("reason", "warming up").build();
+    }
+}
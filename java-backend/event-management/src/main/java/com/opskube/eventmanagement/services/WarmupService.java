@@ -0,0 +1,277 @@
+package com.opskube.eventmanagement.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.config.SecurityProperties;
+import com.opskube.eventmanagement.config.WarmupProperties;
+import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.repository.EventRepository;
+import com.opskube.eventmanagement.repository.UserRepository;
+import com.opskube.eventmanagement.security.JwtUtil;
+import com.opskube.eventmanagement.util.WarmupSnapshot;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the application up before it reports ready on {@code /health}. Once the server is
+ * listening, a background thread:
+ * <ol>
+ *     <li>loads the hot events and users into the second-level cache, taking the ids from the
+ *     snapshot written at the last shutdown, or else the next upcoming events and their organizers;</li>
+ *     <li>requests the hot event list pages through the server, which fills the page cache and
+ *     initializes the servlet, filter and controller code on the way;</li>
+ *     <li>runs token signing and parsing, event and profile lookups and listing serialization
+ *     over and over, so the JIT has compiled them before real traffic arrives.</li>
+ * </ol>
+ * Readiness is reported when this finishes or the budget runs out, whichever comes first.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmupService {
+
+    // Ids per query when preloading
+    private static final int CHUNK_SIZE = 500;
+
+    private final WarmupProperties properties;
+    private final SecurityProperties securityProperties;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final EventService eventService;
+    private final EventPageCache eventPageCache;
+    private final UserDetailsService userDetailsService;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Value("${app.pagination.default-size:10}")
+    private int defaultPageSize;
+
+    private volatile int port = -1;
+    private volatile boolean warm;
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        // Not a separate management server
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Nothing to warm for without a server, such as in tests and batch runs
+        if (!properties.isEnabled() || port <= 0) {
+            warm = true;
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void writeSnapshot() {
+        if (!properties.isEnabled() || properties.getSnapshotFile().isBlank()) {
+            return;
+        }
+        Path file = Path.of(properties.getSnapshotFile());
+        try {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            WarmupSnapshot snapshot = new WarmupSnapshot(
+                    cachedIds(sessionFactory, Event.class, properties.getMaxEvents()),
+                    cachedIds(sessionFactory, User.class, properties.getMaxUsers()),
+                    eventPageCache.keys());
+            snapshot.write(file);
+            log.info("Warm-up snapshot written to {}: {} events, {} users, {} pages", file,
+                    snapshot.eventIds().size(), snapshot.userIds().size(), snapshot.pageKeys().size());
+        } catch (Exception e) {
+            log.warn("Could not write the warm-up snapshot to {}", file, e);
+        }
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + properties.getBudget().toNanos();
+        Progress progress = new Progress();
+        try {
+            WarmupSnapshot snapshot = readSnapshot();
+            progress.source = snapshot == null ? "database" : "snapshot";
+            List<Long> eventIds = snapshot == null
+                    ? eventRepository.findUpcomingIds(LocalDateTime.now(), PageRequest.of(0, properties.getMaxEvents()))
+                    : limit(snapshot.eventIds(), properties.getMaxEvents());
+            Set<Long> userIds = new LinkedHashSet<>(snapshot == null ? List.of() : snapshot.userIds());
+
+            // Events with their organizers, then the other users
+            for (int i = 0; i < eventIds.size() && System.nanoTime() < deadline; i += CHUNK_SIZE) {
+                List<Event> events = eventRepository.findAllWithOrganizerByIdIn(
+                        eventIds.subList(i, Math.min(i + CHUNK_SIZE, eventIds.size())));
+                events.forEach(event -> userIds.add(event.getOrganizer().getId()));
+                progress.events += events.size();
+            }
+            List<Long> users = limit(List.copyOf(userIds), properties.getMaxUsers());
+            String sampleEmail = null;
+            for (int i = 0; i < users.size() && System.nanoTime() < deadline; i += CHUNK_SIZE) {
+                for (User user : userRepository.findAllById(users.subList(i, Math.min(i + CHUNK_SIZE, users.size())))) {
+                    // Fills the email to id cache that every authenticated request goes through
+                    userDetailsService.loadUserByUsername(user.getEmail());
+                    sampleEmail = sampleEmail == null ? user.getEmail() : sampleEmail;
+                    progress.users++;
+                }
+            }
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String base = "http://localhost:" + port + contextPath;
+            List<String> pageKeys = snapshot == null || snapshot.pageKeys().isEmpty()
+                    ? defaultPageKeys() : snapshot.pageKeys();
+            for (String key : pageKeys) {
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+                get(client, base + "/events?" + EventPageCache.queryString(key), null, deadline);
+                progress.pages++;
+            }
+
+            exerciseHotPaths(client, base, eventIds, sampleEmail, deadline, progress);
+        } catch (Exception e) {
+            log.warn("Warm-up failed, reporting ready anyway", e);
+        } finally {
+            warm = true;
+            log.info("Warm-up {} in {} ms: {} events and {} users loaded from the {}, {} pages, {} passes through the hot paths",
+                    System.nanoTime() < deadline ? "finished" : "stopped at its budget",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), progress.events, progress.users,
+                    progress.source, progress.pages, progress.iterations);
+        }
+    }
+
+    private void exerciseHotPaths(HttpClient client, String base, List<Long> eventIds, String sampleEmail,
+                                  long deadline, Progress progress) throws IOException, InterruptedException {
+        // A real user goes through the whole authentication filter; without one, tokens are still exercised
+        UserDetails user = sampleEmail == null
+                ? org.springframework.security.core.userdetails.User.withUsername("warmup@localhost")
+                .password("").authorities(List.of()).build()
+                : userDetailsService.loadUserByUsername(sampleEmail);
+
+        for (int i = 0; i < properties.getIterations() && System.nanoTime() < deadline; i++) {
+            String token = jwtUtil.generateToken(user);
+            jwtUtil.validateToken(token, user);
+            if (sampleEmail != null) {
+                get(client, base + "/auth/profile", token, deadline);
+            }
+            if (!eventIds.isEmpty()) {
+                get(client, base + "/events/" + eventIds.get(i % eventIds.size()), null, deadline);
+            }
+            // Listing pages are answered from the page cache over HTTP, so serialize one directly
+            objectMapper.writeValueAsBytes(eventService.getAllEvents(null, null, true, i % 4, defaultPageSize));
+            progress.iterations++;
+        }
+    }
+
+    private void get(HttpClient client, String uri, String token, long deadline) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofNanos(Math.max(deadline - System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(1))))
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET();
+        if (token != null) {
+            request.header(securityProperties.getHeader(), securityProperties.getPrefix() + token);
+        }
+        client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private WarmupSnapshot readSnapshot() {
+        if (properties.getSnapshotFile().isBlank()) {
+            return null;
+        }
+        Path file = Path.of(properties.getSnapshotFile());
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return WarmupSnapshot.read(file);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable warm-up snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    // The first pages of the plain and upcoming listings, as the page cache keys them
+    private List<String> defaultPageKeys() {
+        List<String> keys = new ArrayList<>();
+        for (int page = 0; page <= eventPageCache.getMaxPage(); page++) {
+            keys.add(EventPageCache.key(page, defaultPageSize, null, false));
+            keys.add(EventPageCache.key(page, defaultPageSize, null, true));
+        }
+        return keys;
+    }
+
+    // Ids of the entities of a type in the second-level cache
+    private static List<Long> cachedIds(SessionFactoryImplementor sessionFactory, Class<?> type, int limit) {
+        EntityDataAccess access = sessionFactory.getMappingMetamodel().getEntityDescriptor(type).getCacheAccessStrategy();
+        if (access == null || !(sessionFactory.getCache().getRegionFactory() instanceof JCacheRegionFactory regionFactory)) {
+            return List.of();
+        }
+        Cache<Object, Object> cache = regionFactory.getCacheManager().getCache(access.getRegion().getName());
+        List<Long> ids = new ArrayList<>();
+        if (cache != null) {
+            for (Cache.Entry<Object, Object> entry : cache) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                if (access.getCacheKeyId(entry.getKey()) instanceof Long id) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> limit(List<Long> ids, int max) {
+        return ids.size() > max ? ids.subList(0, max) : ids;
+    }
+
+    private static final class Progress {
+        private String source = "database";
+        private int events;
+        private int users;
+        private int pages;
+        private int iterations;
+    }
+}
@@ -0,0 +1,154 @@
+package com.opskube.eventmanagement.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how long callers wait for a connection and how long they keep it, attributed to the
+ * application method that asked for it: the innermost frame in this application's packages, so a
+ * {@code @Transactional} service method, or a repository or security class called outside one.
+ * With open-session-in-view the connection is only returned once the response is written, and the
+ * held time shows it. Meters are registered once {@link #bindTo} is called; the wait and peak
+ * usage counters are kept regardless, for the pool sizer.
+ */
+public class ConnectionMonitoringDataSource extends DelegatingDataSource {
+
+    public static final String UNKNOWN_OWNER = "other";
+
+    private static final String APP_PACKAGE = "com.opskube.eventmanagement.";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final boolean attributeOwner;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+
+    private final Map<String, OwnerTimers> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public ConnectionMonitoringDataSource(DataSource target, boolean attributeOwner) {
+        super(target);
+        this.attributeOwner = attributeOwner;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long started = System.nanoTime();
+        return monitored(super.getConnection(), started);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long started = System.nanoTime();
+        return monitored(super.getConnection(username, password), started);
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long getAcquireNanos() {
+        return acquireNanos.sum();
+    }
+
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    // The most connections in use at once since the last call
+    public int resetPeakInUse() {
+        return peakInUse.getAndSet(inUse.get());
+    }
+
+    private Connection monitored(Connection connection, long started) {
+        long acquired = System.nanoTime();
+        acquisitions.increment();
+        acquireNanos.add(acquired - started);
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+
+        OwnerTimers owner = ownerTimers();
+        if (owner != null) {
+            owner.acquire().record(acquired - started, TimeUnit.NANOSECONDS);
+        }
+
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (JdbcProxies.isIdentityMethod(method)) {
+                        return JdbcProxies.identity(proxy, method, args);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                            inUse.decrementAndGet();
+                            if (owner != null) {
+                                owner.held().record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+                            }
+                        }
+                    }
+                });
+    }
+
+    private OwnerTimers ownerTimers() {
+        MeterRegistry meters = registry;
+        if (meters == null) {
+            return null;
+        }
+        String owner = attributeOwner ? owner() : UNKNOWN_OWNER;
+        return timers.computeIfAbsent(owner, name -> new OwnerTimers(
+                Timer.builder("db.connection.acquire")
+                        .description("Time waiting for a database connection, by the method asking for it")
+                        .tag("owner", name)
+                        .register(meters),
+                Timer.builder("db.connection.held")
+                        .description("Time a database connection was kept before being returned")
+                        .tag("owner", name)
+                        .register(meters)));
+    }
+
+    // "EventService.getAllEvents" for the innermost application frame, looking through Spring's proxies
+    private static String owner() {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().equals(ConnectionMonitoringDataSource.class.getName()))
+                .findFirst()
+                .map(frame -> ownerName(frame.getClassName(), frame.getMethodName()))
+                .orElse(UNKNOWN_OWNER));
+    }
+
+    static String ownerName(String className, String method) {
+        int proxy = className.indexOf("$$");
+        if (proxy > 0) {
+            className = className.substring(0, proxy);
+        }
+        // lambda$getAllEvents$5 is code inside getAllEvents
+        if (method.startsWith("lambda$")) {
+            method = method.substring(7, Math.max(7, method.indexOf('$', 7)));
+        }
+        return className.substring(className.lastIndexOf('.') + 1) + "." + method;
+    }
+
+    private record OwnerTimers(Timer acquire, Timer held) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.opskube.eventmanagement.util;
+
+import com.opskube.eventmanagement.config.DataGeneratorProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads synthetic data at startup, then exits unless told otherwise.
+ * Only runs when the generate profile is active, sized by the app.generator properties.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Profile("generate")
+public class DataGeneratorRunner {
+
+    private final DataSource dataSource;
+    private final DataGeneratorProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Bean
+    public CommandLineRunner generateData() {
+        return args -> {
+            new SyntheticDataGenerator(dataSource, properties).generate();
+            if (properties.isExitWhenDone()) {
+                System.exit(SpringApplication.exit(context, () -> 0));
+            }
+        };
+    }
+}
@@ -3,6 +3,8 @@ package com.opskube.eventmanagement.util;
 import com.opskube.eventmanagement.model.Event;
 import com.opskube.eventmanagement.model.Rsvp;
 import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.repository.ArchivedEventRepository;
+import com.opskube.eventmanagement.repository.ArchivedRsvpRepository;
 import com.opskube.eventmanagement.repository.EventRepository;
 import com.opskube.eventmanagement.repository.RsvpRepository;
 import com.opskube.eventmanagement.repository.UserRepository;
@@ -29,12 +31,16 @@ public class DatabaseSeeder {
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final RsvpRepository rsvpRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final ArchivedRsvpRepository archivedRsvpRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Bean
     public CommandLineRunner seedDatabase() {
         return args -> {
             // Clear existing data
+            archivedRsvpRepository.deleteAll();
+            archivedEventRepository.deleteAll();
             rsvpRepository.deleteAll();
             eventRepository.deleteAll();
             userRepository.deleteAll();
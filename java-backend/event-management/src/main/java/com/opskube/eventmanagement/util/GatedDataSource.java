@@ -0,0 +1,130 @@
+package com.opskube.eventmanagement.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most a fixed number of callers hold or wait on a connection from the underlying pool.
+ * With virtual threads there is no worker pool to bound concurrency, so thousands of requests
+ * could otherwise queue inside the connection pool; here they wait on a fair semaphore instead,
+ * and give up with a transient error after the timeout. The number of permits can be changed
+ * while running, to follow the pool size.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+    private final ResizableSemaphore permits;
+    private volatile int maxPermits;
+    private final long timeoutMs;
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public GatedDataSource(DataSource target, int maxPermits, long timeoutMs) {
+        super(target);
+        this.permits = new ResizableSemaphore(maxPermits);
+        this.maxPermits = maxPermits;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return gated(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return gated(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    // Permits taken away while in use are only given back to callers once enough are released
+    public synchronized void setMaxPermits(int maxPermits) {
+        int change = maxPermits - this.maxPermits;
+        if (change > 0) {
+            permits.release(change);
+        } else if (change < 0) {
+            permits.reducePermits(-change);
+        }
+        this.maxPermits = maxPermits;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + timeoutMs + " ms waiting for a database connection permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+        }
+    }
+
+    // Returns the permit when the connection is closed, once
+    private Connection gated(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (JdbcProxies.isIdentityMethod(method)) {
+                        return JdbcProxies.identity(proxy, method, args);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
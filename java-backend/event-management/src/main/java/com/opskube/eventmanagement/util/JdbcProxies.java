@@ -0,0 +1,22 @@
+package com.opskube.eventmanagement.util;
+
+import java.lang.reflect.Method;
+
+/**
+ * Helpers for the connection and statement proxies the data source wrappers hand out.
+ */
+final class JdbcProxies {
+
+    private JdbcProxies() {
+    }
+
+    // equals and hashCode, which a proxy answers for itself: forwarded, a proxy would not equal itself
+    static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class && !method.getName().equals("toString");
+    }
+
+    // Identity semantics, the same as the wrapped object's own unless it overrides them
+    static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+}
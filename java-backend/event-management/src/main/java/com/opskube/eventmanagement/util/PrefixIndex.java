@@ -0,0 +1,440 @@
+package com.opskube.eventmanagement.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable, memory-compact prefix index for typeahead lookups.
+ * Suggestion texts are packed into byte arrays and every word start of a suggestion
+ * becomes a (suggestion, offset) entry sorted by the text that follows it, so a prefix
+ * maps to one contiguous entry range that is ranked using per-block weight maxima.
+ */
+public final class PrefixIndex {
+
+    private static final int BLOCK_SIZE = 64;
+    private static final int MAX_WORDS_PER_SUGGESTION = 8;
+
+    private static final PrefixIndex EMPTY = new Builder().build();
+
+    // Suggestion columns
+    private final byte[] keyBytes;
+    private final int[] keyOffsets;
+    private final byte[] textBytes;
+    private final int[] textOffsets;
+    private final byte[] kinds;
+    private final long[] refs;
+    private final int[] counts;
+    private final float[] weights;
+    private final int[] groups;
+
+    // Entry columns, sorted by the key suffix each entry points at
+    private final int[] entrySuggestions;
+    private final char[] entryOffsets;
+    private final float[] blockMax;
+
+    // Suggestions with a non-negative ref, sorted by ref
+    private final long[] sortedRefs;
+    private final int[] refSlots;
+
+    private PrefixIndex(Builder builder, int[] entrySuggestions, char[] entryOffsets, int[] refSlots) {
+        this.keyBytes = Arrays.copyOf(builder.keyBytes, builder.keyLength);
+        this.keyOffsets = Arrays.copyOf(builder.keyOffsets, builder.size + 1);
+        this.textBytes = Arrays.copyOf(builder.textBytes, builder.textLength);
+        this.textOffsets = Arrays.copyOf(builder.textOffsets, builder.size + 1);
+        this.kinds = Arrays.copyOf(builder.kinds, builder.size);
+        this.refs = Arrays.copyOf(builder.refs, builder.size);
+        this.counts = Arrays.copyOf(builder.counts, builder.size);
+        this.weights = Arrays.copyOf(builder.weights, builder.size);
+        this.groups = Arrays.copyOf(builder.groups, builder.size);
+        this.entrySuggestions = entrySuggestions;
+        this.entryOffsets = entryOffsets;
+        this.refSlots = refSlots;
+        this.sortedRefs = new long[refSlots.length];
+        for (int i = 0; i < refSlots.length; i++) {
+            sortedRefs[i] = refs[refSlots[i]];
+        }
+
+        // Precompute the best weight of every block of entries
+        int blocks = (entrySuggestions.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.blockMax = new float[blocks];
+        Arrays.fill(blockMax, Float.NEGATIVE_INFINITY);
+        for (int i = 0; i < entrySuggestions.length; i++) {
+            int block = i / BLOCK_SIZE;
+            blockMax[block] = Math.max(blockMax[block], weights[entrySuggestions[i]]);
+        }
+    }
+
+    public static PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Lower-case, trim and collapse whitespace so keys and prefixes compare consistently
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Whether one of the indexed words of a normalized text starts with the normalized prefix
+    public static boolean matchesWord(String normalizedText, String normalizedPrefix) {
+        int words = 0;
+        for (int i = 0; i < normalizedText.length() && words < MAX_WORDS_PER_SUGGESTION; i++) {
+            if (i == 0 || normalizedText.charAt(i - 1) == ' ') {
+                if (normalizedText.startsWith(normalizedPrefix, i)) {
+                    return true;
+                }
+                words++;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return refs.length;
+    }
+
+    public int entryCount() {
+        return entrySuggestions.length;
+    }
+
+    // Count stored with the suggestion carrying the given ref, or -1 if it is not indexed
+    public int countOf(long ref) {
+        int slot = Arrays.binarySearch(sortedRefs, ref);
+        return slot >= 0 ? counts[refSlots[slot]] : -1;
+    }
+
+    // Group stored with the suggestion carrying the given ref, or -1 if it is not indexed
+    public int groupOf(long ref) {
+        int slot = Arrays.binarySearch(sortedRefs, ref);
+        return slot >= 0 ? groups[refSlots[slot]] : -1;
+    }
+
+    // Approximate retained heap size of the index, in bytes
+    public long estimatedBytes() {
+        return arrayBytes(keyBytes.length, 1) + arrayBytes(keyOffsets.length, 4)
+                + arrayBytes(textBytes.length, 1) + arrayBytes(textOffsets.length, 4)
+                + arrayBytes(kinds.length, 1) + arrayBytes(refs.length, 8)
+                + arrayBytes(counts.length, 4) + arrayBytes(weights.length, 4) + arrayBytes(groups.length, 4)
+                + arrayBytes(entrySuggestions.length, 4) + arrayBytes(entryOffsets.length, 2)
+                + arrayBytes(blockMax.length, 4)
+                + arrayBytes(sortedRefs.length, 8) + arrayBytes(refSlots.length, 4);
+    }
+
+    /**
+     * Returns up to {@code limit} distinct suggestions having a word that starts with the
+     * given (already normalized) prefix, best weight first. Suggestions whose ref matches
+     * {@code excludedRefs} are skipped.
+     */
+    public List<Hit> search(String normalizedPrefix, int limit, LongPredicate excludedRefs) {
+        byte[] prefix = normalizedPrefix.getBytes(StandardCharsets.UTF_8);
+        if (prefix.length == 0 || limit <= 0 || entrySuggestions.length == 0) {
+            return List.of();
+        }
+
+        int from = lowerBound(prefix, false);
+        int to = lowerBound(prefix, true);
+        if (from >= to) {
+            return List.of();
+        }
+
+        TopK top = new TopK(limit);
+        int firstFullBlock = (from + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int lastFullBlock = to / BLOCK_SIZE;
+
+        if (firstFullBlock >= lastFullBlock) {
+            // Small range: scan it directly
+            scan(from, to, top, excludedRefs);
+        } else {
+            // Scan the partial blocks at both ends, then only the blocks that can still
+            // beat the current k-th best weight
+            scan(from, firstFullBlock * BLOCK_SIZE, top, excludedRefs);
+            scan(lastFullBlock * BLOCK_SIZE, to, top, excludedRefs);
+            for (int block = firstFullBlock; block < lastFullBlock; block++) {
+                if (top.accepts(blockMax[block])) {
+                    scan(block * BLOCK_SIZE, (block + 1) * BLOCK_SIZE, top, excludedRefs);
+                }
+            }
+        }
+
+        return top.toHits();
+    }
+
+    private void scan(int from, int to, TopK top, LongPredicate excludedRefs) {
+        for (int i = from; i < to; i++) {
+            int suggestion = entrySuggestions[i];
+            float weight = weights[suggestion];
+            if (top.accepts(weight) && !top.contains(suggestion)
+                    && (excludedRefs == null || !excludedRefs.test(refs[suggestion]))) {
+                top.offer(suggestion, weight);
+            }
+        }
+    }
+
+    // First entry whose key is >= prefix (or > prefix when upper is set), comparing only
+    // the first prefix.length bytes of each key
+    private int lowerBound(byte[] prefix, boolean upper) {
+        int low = 0;
+        int high = entrySuggestions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = comparePrefix(mid, prefix);
+            if (cmp < 0 || (upper && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int comparePrefix(int entry, byte[] prefix) {
+        int suggestion = entrySuggestions[entry];
+        int start = keyOffsets[suggestion] + entryOffsets[entry];
+        int end = keyOffsets[suggestion + 1];
+        int length = Math.min(end - start, prefix.length);
+        int cmp = Arrays.compareUnsigned(keyBytes, start, start + length, prefix, 0, length);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return length < prefix.length ? -1 : 0;
+    }
+
+    private static long arrayBytes(int length, int elementSize) {
+        // 16-byte array header, 8-byte alignment
+        return (16L + (long) length * elementSize + 7) & ~7L;
+    }
+
+    private final class TopK {
+        private final int[] suggestions;
+        private final float[] topWeights;
+        private int size;
+        private int minSlot;
+
+        TopK(int limit) {
+            this.suggestions = new int[limit];
+            this.topWeights = new float[limit];
+        }
+
+        boolean accepts(float weight) {
+            return size < suggestions.length || weight > topWeights[minSlot];
+        }
+
+        boolean contains(int suggestion) {
+            for (int i = 0; i < size; i++) {
+                if (suggestions[i] == suggestion) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void offer(int suggestion, float weight) {
+            if (size < suggestions.length) {
+                suggestions[size] = suggestion;
+                topWeights[size] = weight;
+                size++;
+            } else {
+                suggestions[minSlot] = suggestion;
+                topWeights[minSlot] = weight;
+            }
+            if (size == suggestions.length) {
+                minSlot = 0;
+                for (int i = 1; i < size; i++) {
+                    if (topWeights[i] < topWeights[minSlot]) {
+                        minSlot = i;
+                    }
+                }
+            }
+        }
+
+        List<Hit> toHits() {
+            List<Hit> hits = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int s = suggestions[i];
+                String text = new String(textBytes, textOffsets[s], textOffsets[s + 1] - textOffsets[s],
+                        StandardCharsets.UTF_8);
+                hits.add(new Hit(text, kinds[s], refs[s], counts[s], weights[s]));
+            }
+            hits.sort((a, b) -> Float.compare(b.weight(), a.weight()));
+            return hits;
+        }
+    }
+
+    /**
+     * A ranked suggestion returned by {@link #search}.
+     */
+    public record Hit(String text, byte kind, long ref, int count, float weight) {
+    }
+
+    /**
+     * Accumulates suggestions into growable primitive columns; {@link #build()} sorts the
+     * word-start entries once and produces the immutable index.
+     */
+    public static final class Builder {
+        private byte[] keyBytes = new byte[1024];
+        private int keyLength;
+        private int[] keyOffsets = new int[65];
+        private byte[] textBytes = new byte[1024];
+        private int textLength;
+        private int[] textOffsets = new int[65];
+        private byte[] kinds = new byte[64];
+        private long[] refs = new long[64];
+        private int[] counts = new int[64];
+        private float[] weights = new float[64];
+        private int[] groups = new int[64];
+        private int size;
+
+        private int[] entrySuggestions = new int[128];
+        private char[] entryOffsets = new char[128];
+        private int entryCount;
+
+        private Builder() {
+        }
+
+        public Builder add(String text, byte kind, long ref, int count, float weight) {
+            return add(text, kind, ref, count, weight, -1);
+        }
+
+        // The group is any number the caller wants to look up by ref later, such as the event's location
+        public Builder add(String text, byte kind, long ref, int count, float weight, int group) {
+            byte[] key = normalize(text).getBytes(StandardCharsets.UTF_8);
+            byte[] display = text.trim().getBytes(StandardCharsets.UTF_8);
+            if (key.length == 0 || key.length > Character.MAX_VALUE) {
+                return this;
+            }
+
+            ensureSuggestionCapacity();
+            keyBytes = ensure(keyBytes, keyLength + key.length);
+            System.arraycopy(key, 0, keyBytes, keyLength, key.length);
+            keyLength += key.length;
+            keyOffsets[size + 1] = keyLength;
+
+            textBytes = ensure(textBytes, textLength + display.length);
+            System.arraycopy(display, 0, textBytes, textLength, display.length);
+            textLength += display.length;
+            textOffsets[size + 1] = textLength;
+
+            kinds[size] = kind;
+            refs[size] = ref;
+            counts[size] = count;
+            weights[size] = weight;
+            groups[size] = group;
+
+            // One entry per word start, so "conf" finds "Tech Conference"
+            int words = 0;
+            for (int i = 0; i < key.length && words < MAX_WORDS_PER_SUGGESTION; i++) {
+                if (i == 0 || key[i - 1] == ' ') {
+                    addEntry(size, i);
+                    words++;
+                }
+            }
+
+            size++;
+            return this;
+        }
+
+        public PrefixIndex build() {
+            int[] order = new int[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                order[i] = i;
+            }
+            mergeSort(order, this::compareEntries);
+
+            int[] sortedSuggestions = new int[entryCount];
+            char[] sortedOffsets = new char[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                sortedSuggestions[i] = entrySuggestions[order[i]];
+                sortedOffsets[i] = entryOffsets[order[i]];
+            }
+
+            int referenced = 0;
+            for (int i = 0; i < size; i++) {
+                if (refs[i] >= 0) {
+                    referenced++;
+                }
+            }
+            int[] refSlots = new int[referenced];
+            for (int i = 0, j = 0; i < size; i++) {
+                if (refs[i] >= 0) {
+                    refSlots[j++] = i;
+                }
+            }
+            mergeSort(refSlots, (a, b) -> Long.compare(refs[a], refs[b]));
+
+            return new PrefixIndex(this, sortedSuggestions, sortedOffsets, refSlots);
+        }
+
+        private int compareEntries(int a, int b) {
+            int aStart = keyOffsets[entrySuggestions[a]] + entryOffsets[a];
+            int aEnd = keyOffsets[entrySuggestions[a] + 1];
+            int bStart = keyOffsets[entrySuggestions[b]] + entryOffsets[b];
+            int bEnd = keyOffsets[entrySuggestions[b] + 1];
+            return Arrays.compareUnsigned(keyBytes, aStart, aEnd, keyBytes, bStart, bEnd);
+        }
+
+        private void addEntry(int suggestion, int offset) {
+            if (entryCount == entrySuggestions.length) {
+                entrySuggestions = Arrays.copyOf(entrySuggestions, entryCount * 2);
+                entryOffsets = Arrays.copyOf(entryOffsets, entryCount * 2);
+            }
+            entrySuggestions[entryCount] = suggestion;
+            entryOffsets[entryCount] = (char) offset;
+            entryCount++;
+        }
+
+        private void ensureSuggestionCapacity() {
+            if (size + 1 < kinds.length) {
+                return;
+            }
+            int capacity = kinds.length * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            refs = Arrays.copyOf(refs, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            groups = Arrays.copyOf(groups, capacity);
+            keyOffsets = Arrays.copyOf(keyOffsets, capacity + 1);
+            textOffsets = Arrays.copyOf(textOffsets, capacity + 1);
+        }
+
+        private static byte[] ensure(byte[] array, int required) {
+            if (required <= array.length) {
+                return array;
+            }
+            return Arrays.copyOf(array, Math.max(required, array.length * 2));
+        }
+
+        // Stable primitive merge sort, avoids boxing millions of entry indexes
+        private static void mergeSort(int[] values, IntBinaryOperator comparator) {
+            int[] buffer = new int[values.length];
+            for (int width = 1; width < values.length; width *= 2) {
+                for (int left = 0; left < values.length; left += 2 * width) {
+                    int mid = Math.min(left + width, values.length);
+                    int right = Math.min(left + 2 * width, values.length);
+                    int i = left;
+                    int j = mid;
+                    int k = left;
+                    while (i < mid && j < right) {
+                        buffer[k++] = comparator.applyAsInt(values[i], values[j]) <= 0 ? values[i++] : values[j++];
+                    }
+                    while (i < mid) {
+                        buffer[k++] = values[i++];
+                    }
+                    while (j < right) {
+                        buffer[k++] = values[j++];
+                    }
+                }
+                System.arraycopy(buffer, 0, values, 0, values.length);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.opskube.eventmanagement.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics per statement fingerprint, in bounded memory: count, total and maximum
+ * time, and a log-linear histogram (four buckets per power of two, about 1.3 KB per
+ * fingerprint) for percentiles within roughly 12%. At most {@code maxFingerprints} are
+ * tracked; statements with further fingerprints are counted together under {@link #OTHER}.
+ * Recording takes no locks.
+ */
+public class QueryStatistics {
+
+    public static final String OTHER = "(other statements)";
+
+    private static final int SUB_BUCKETS = 4;
+    // Powers of two of microseconds, up to about 76 hours
+    private static final int OCTAVES = 38;
+
+    private final int maxFingerprints;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public QueryStatistics(int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    public Entry record(String fingerprint, long nanos) {
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            // The bound is approximate under races, which is fine for memory purposes
+            String key = entries.size() < maxFingerprints ? fingerprint : OTHER;
+            entry = entries.computeIfAbsent(key, Entry::new);
+        }
+        entry.record(nanos);
+        return entry;
+    }
+
+    public List<Summary> top(int limit, Comparator<Summary> order) {
+        List<Summary> summaries = new ArrayList<>(entries.size());
+        entries.values().forEach(entry -> summaries.add(entry.summary()));
+        summaries.sort(order.reversed());
+        return summaries.subList(0, Math.min(limit, summaries.size()));
+    }
+
+    // Executions and their time across all fingerprints; compare two calls for the rate in between
+    public Totals totals() {
+        long count = 0;
+        long nanos = 0;
+        for (Entry entry : entries.values()) {
+            count += entry.count.sum();
+            nanos += entry.totalNanos.sum();
+        }
+        return new Totals(count, nanos);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    public static final class Entry {
+
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(OCTAVES * SUB_BUCKETS);
+
+        // Slow-query logging for this fingerprint: when it may next be logged, and what was skipped
+        private final AtomicLong nextLogAt = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder suppressed = new LongAdder();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String fingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Claims the right to log this fingerprint, at most once per interval. Returns the number of
+         * slow executions skipped since the last one logged, or -1 if this one should be skipped too.
+         */
+        public long tryLog(long nowNanos, long intervalNanos) {
+            long next = nextLogAt.get();
+            boolean due = next == Long.MIN_VALUE || nowNanos - next >= 0;
+            if (!due || !nextLogAt.compareAndSet(next, nowNanos + intervalNanos)) {
+                suppressed.increment();
+                return -1;
+            }
+            return suppressed.sumThenReset();
+        }
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            buckets.incrementAndGet(bucket(nanos));
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        private Summary summary() {
+            long[] counts = new long[buckets.length()];
+            long histogramCount = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+                histogramCount += counts[i];
+            }
+            long n = count.sum();
+            double totalMs = totalNanos.sum() / 1e6;
+            return new Summary(SqlFingerprint.id(fingerprint), fingerprint, n, totalMs, n == 0 ? 0 : totalMs / n,
+                    percentile(counts, histogramCount, 0.5), percentile(counts, histogramCount, 0.99),
+                    maxNanos.get() / 1e6);
+        }
+    }
+
+    /**
+     * One fingerprint's statistics, with times in milliseconds.
+     */
+    public record Summary(String id, String fingerprint, long count, double totalMs, double meanMs,
+                          double p50Ms, double p99Ms, double maxMs) {
+    }
+
+    public record Totals(long count, long nanos) {
+    }
+
+    private static int bucket(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        int octave = 63 - Long.numberOfLeadingZeros(micros);
+        if (octave >= OCTAVES) {
+            return OCTAVES * SUB_BUCKETS - 1;
+        }
+        // The two bits below the leading one pick the sub-bucket
+        int sub = octave < 2 ? (int) (micros << (2 - octave)) & 3 : (int) (micros >>> (octave - 2)) & 3;
+        return octave * SUB_BUCKETS + sub;
+    }
+
+    // Midpoint of the bucket holding the requested rank, in milliseconds
+    private static double percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                int octave = i / SUB_BUCKETS;
+                int sub = i % SUB_BUCKETS;
+                double low = Math.scalb(SUB_BUCKETS + sub, octave - 2);
+                double high = Math.scalb(SUB_BUCKETS + sub + 1, octave - 2);
+                return (low + high) / 2 / 1000;
+            }
+        }
+        return 0;
+    }
+}
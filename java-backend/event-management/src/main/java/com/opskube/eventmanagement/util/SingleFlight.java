@@ -0,0 +1,99 @@
+package com.opskube.eventmanagement.util;
+
+import com.opskube.eventmanagement.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load and callers arriving
+ * while it is in flight wait for its result instead of running their own. Nothing is kept once
+ * the load completes, so failures are shared only with callers that were already waiting; each
+ * of them gets its own exception, keeping the status of an {@link ApiException}.
+ * A caller that waits longer than the timeout gives up on the shared load and runs its own.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeoutMs = timeout.toMillis();
+        this.coalesced = Counter.builder("singleflight.coalesced")
+                .description("Requests served by another request's in-flight load")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("singleflight.timeouts")
+                .description("Requests that stopped waiting for an in-flight load and ran their own")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing, loader);
+        }
+
+        // Lead the load, publishing the outcome to waiters before forgetting the key
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight, Supplier<V> loader) {
+        coalesced.increment();
+        try {
+            return flight.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            throw failed(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight load", e);
+        }
+    }
+
+    // A new exception per waiter, with the leader's as the cause: one instance thrown on many threads
+    // would collect their suppressed exceptions and show only the leader's stack trace
+    private static RuntimeException failed(Throwable cause) {
+        if (cause instanceof ApiException apiException) {
+            return new ApiException(apiException.getMessage(), apiException.getStatus(), apiException);
+        }
+        if (cause instanceof ResponseStatusException statusException) {
+            return new ResponseStatusException(statusException.getStatusCode(), statusException.getReason(), statusException);
+        }
+        return new LoadFailedException(cause);
+    }
+
+    /**
+     * Thrown to a caller whose shared load failed with an exception the API does not map to a status.
+     */
+    public static class LoadFailedException extends RuntimeException {
+
+        public LoadFailedException(Throwable cause) {
+            super("In-flight load failed: " + cause, cause);
+        }
+    }
+}
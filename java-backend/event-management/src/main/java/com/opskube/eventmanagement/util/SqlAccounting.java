@@ -0,0 +1,173 @@
+package com.opskube.eventmanagement.util;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, and the time spent
+ * executing them, while a {@link Recording} is open. Statements are grouped by their
+ * {@link SqlFingerprint}, so a query repeated once per row of an earlier result (an N+1) shows
+ * up as one template with a high count. Statements run on other threads, or through plain
+ * JDBC, are not seen.
+ */
+public final class SqlAccounting {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private SqlAccounting() {
+    }
+
+    /**
+     * Starts recording on this thread. A recording started inside another one counts towards
+     * both, so a test can wrap a request that the filter also records.
+     */
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        // Only touched by the thread that owns the recording
+        private final Map<String, Integer> statements = new LinkedHashMap<>();
+        private int statementCount;
+        private long databaseNanos;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        public int statementCount() {
+            return statementCount;
+        }
+
+        public Duration databaseTime() {
+            return Duration.ofNanos(databaseNanos);
+        }
+
+        // Statement count per template, in the order first seen
+        public Map<String, Integer> statements() {
+            return Collections.unmodifiableMap(statements);
+        }
+
+        public Map<String, Integer> repeatedMoreThan(int times) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            statements.forEach((template, count) -> {
+                if (count > times) {
+                    repeated.put(template, count);
+                }
+            });
+            return repeated;
+        }
+
+        /**
+         * For tests pinning the statement budget of an operation: fails listing every statement
+         * when more than {@code max} were run.
+         */
+        public void assertStatementsAtMost(int max) {
+            if (statementCount > max) {
+                StringBuilder message = new StringBuilder()
+                        .append("Expected at most ").append(max).append(" SQL statements but ")
+                        .append(statementCount).append(" were run:");
+                statements.forEach((template, count) -> message.append("\n  ").append(count).append(" x ").append(template));
+                throw new AssertionError(message.toString());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+
+        private int onStatement(String template) {
+            int count = 0;
+            for (Recording recording = this; recording != null; recording = recording.parent) {
+                count = Math.max(count, recording.statements.merge(template, 1, Integer::sum));
+                recording.statementCount++;
+            }
+            return count;
+        }
+
+        private void onExecution(long nanos) {
+            for (Recording recording = this; recording != null; recording = recording.parent) {
+                recording.databaseNanos += nanos;
+            }
+        }
+    }
+
+    /**
+     * Hibernate's statement inspector, seeing every statement as it is prepared. Leaves the SQL
+     * as it is, unless {@code failOnRepeat} is set and a template runs more than
+     * {@code repeatLimit} times in one recording, which fails the statement instead.
+     */
+    public static final class Inspector implements StatementInspector {
+
+        private final int repeatLimit;
+        private final boolean failOnRepeat;
+
+        public Inspector(int repeatLimit, boolean failOnRepeat) {
+            this.repeatLimit = repeatLimit;
+            this.failOnRepeat = failOnRepeat;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            Recording recording = CURRENT.get();
+            if (recording != null) {
+                String template = SqlFingerprint.of(sql);
+                int count = recording.onStatement(template);
+                if (failOnRepeat && count > repeatLimit) {
+                    throw new IllegalStateException("Statement repeated " + count + " times: " + template);
+                }
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Times statement and batch execution. Hibernate creates one per session, by class name,
+     * through {@code hibernate.session.events.auto}.
+     */
+    public static final class ExecutionTimer extends BaseSessionEventListener {
+
+        private long started;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            started = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            record();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            started = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            record();
+        }
+
+        private void record() {
+            Recording recording = CURRENT.get();
+            if (recording != null) {
+                recording.onExecution(System.nanoTime() - started);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.opskube.eventmanagement.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Times every statement executed through its connections, Hibernate's and plain JDBC alike, and
+ * records it in {@link QueryStatistics} by {@link SqlFingerprint}. Statements at or over the
+ * slow threshold are logged with the types of their bind parameters, never the values, at most
+ * once per fingerprint per log interval. The time covers execution up to the first results,
+ * not reading the rest of a result set.
+ */
+@Slf4j
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final QueryStatistics statistics;
+    private final long slowThresholdNanos;
+    private final long logIntervalNanos;
+
+    public StatementTimingDataSource(DataSource target, QueryStatistics statistics, long slowThresholdNanos,
+                                     long logIntervalNanos) {
+        super(target);
+        this.statistics = statistics;
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.logIntervalNanos = logIntervalNanos;
+    }
+
+    public QueryStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    // Hands out statements that time their executions
+    private Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (JdbcProxies.isIdentityMethod(method)) {
+                        return JdbcProxies.identity(proxy, method, args);
+                    }
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                        case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                        case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Object statement(Class<? extends Statement> type, Statement statement, String sql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new StatementHandler(statement, sql));
+    }
+
+    private void record(String sql, long nanos, List<String> parameters, int batchSize) {
+        QueryStatistics.Entry entry = statistics.record(SqlFingerprint.of(sql), nanos);
+        if (nanos < slowThresholdNanos) {
+            return;
+        }
+        long skipped = entry.tryLog(System.nanoTime(), logIntervalNanos);
+        if (skipped >= 0) {
+            String shape = batchSize > 0 ? "batch of " + batchSize + " x " + parameters : parameters.toString();
+            log.warn("Slow query [{}] took {} ms{}: {} parameters {}", SqlFingerprint.id(entry.fingerprint()),
+                    nanos / 1_000_000, skipped > 0 ? " (" + skipped + " more since last logged)" : "",
+                    entry.fingerprint(), shape);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        // Only used by the thread running the statement
+        private String sql;
+        private final List<String> parameters = new ArrayList<>();
+        private int batchSize;
+
+        private StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (JdbcProxies.isIdentityMethod(method)) {
+                return JdbcProxies.identity(proxy, method, args);
+            }
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameter(index, name, args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (EXECUTE_METHODS.contains(name)) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                long started = System.nanoTime();
+                try {
+                    return StatementTimingDataSource.invoke(statement, method, args);
+                } finally {
+                    if (executed != null) {
+                        record(executed, System.nanoTime() - started, parameters, batchSize);
+                    }
+                    if (name.endsWith("Batch")) {
+                        batchSize = 0;
+                    }
+                }
+            }
+            return StatementTimingDataSource.invoke(statement, method, args);
+        }
+
+        // setLong(1, ...) is recorded as "Long", setNull as "null", setObject by the value's class
+        private void parameter(int index, String setter, Object value) {
+            String type;
+            if (setter.equals("setNull")) {
+                type = "null";
+            } else if (setter.equals("setObject")) {
+                type = value == null ? "null" : value.getClass().getSimpleName();
+            } else {
+                type = setter.substring(3);
+            }
+            while (parameters.size() < index) {
+                parameters.add("?");
+            }
+            parameters.set(index - 1, type);
+        }
+    }
+}
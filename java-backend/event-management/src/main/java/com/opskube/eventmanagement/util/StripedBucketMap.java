@@ -0,0 +1,94 @@
+package com.opskube.eventmanagement.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded map of {@link TokenBucket}s split into independently locked stripes. Each stripe is a
+ * least-recently-used map holding at most its share of {@code maxKeys}, so memory stays bounded
+ * however many distinct keys arrive, and the locks are held only for a hash lookup. Buckets that
+ * have refilled completely are dropped by {@link #evictIdle}, which loses nothing. A full stripe
+ * drops its least recently used bucket even if partly drained, and that caller's next request
+ * starts over with a full bucket, so {@code maxKeys} should stay well above the callers active
+ * within one period.
+ */
+public class StripedBucketMap {
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public StripedBucketMap(int stripeCount, int maxKeys) {
+        // Round up to a power of two so a key's stripe is a mask of its hash
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        int perStripe = Math.max(1, maxKeys / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.mask = count - 1;
+    }
+
+    public TokenBucket get(String key, long nowNanos) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            TokenBucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(nowNanos);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Drops full buckets, one stripe at a time, returning how many were removed
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                int before = stripe.buckets.size();
+                stripe.buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+                evicted += before - stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, TokenBucket> buckets;
+
+        private Stripe(int maxSize) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.opskube.eventmanagement.util;
+
+import com.opskube.eventmanagement.config.DataGeneratorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads synthetic users, events and RSVPs at production scale. Events are spread over past and
+ * upcoming dates with evening and weekend peaks, and their popularity follows a Zipf distribution,
+ * so a few events draw most RSVPs. Rows are written in parallel chunks, with {@code COPY} on
+ * PostgreSQL and batched inserts elsewhere. Generated ids continue after the existing rows, and
+ * the same seed always produces the same data.
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private static final String[] ADJECTIVES = {"Annual", "Monthly", "Weekly", "Summer", "Winter", "Spring",
+            "Autumn", "Community", "Global", "Local", "Open", "Advanced", "Beginner", "Evening", "Weekend"};
+    private static final String[] TOPICS = {"Java", "Data Science", "Cloud", "Jazz", "Yoga", "Photography",
+            "Startup", "Book Club", "Food", "Wine", "Running", "Chess", "Design", "Security", "Climate",
+            "Film", "Board Game", "Robotics", "Marketing", "Gardening"};
+    private static final String[] KINDS = {"Meetup", "Conference", "Workshop", "Festival", "Night", "Summit",
+            "Hackathon", "Retreat", "Fair", "Session", "Tour", "Exhibition"};
+    private static final String[] VENUES = {"Convention Center", "City Library", "Central Park", "Tech Hub",
+            "Community Hall", "University Campus", "Grand Hotel", "Art Gallery", "Riverside Pavilion",
+            "Innovation Lab"};
+    private static final String[] CITIES = {"San Francisco", "New York", "London", "Berlin", "Paris", "Tokyo",
+            "Bangalore", "Sydney", "Toronto", "Amsterdam", "Madrid", "Singapore", "Austin", "Seattle", "Dublin"};
+    // Start hours, weighted towards the evening
+    private static final int[] HOURS = {9, 10, 10, 11, 13, 14, 17, 18, 18, 18, 19, 19, 19, 20, 20, 21};
+    private static final String[] STATUSES = {"ATTENDING", "ATTENDING", "ATTENDING", "ATTENDING", "ATTENDING",
+            "ATTENDING", "ATTENDING", "MAYBE", "MAYBE", "DECLINED"};
+
+    private final DataSource dataSource;
+    private final DataGeneratorProperties properties;
+
+    public SyntheticDataGenerator(DataSource dataSource, DataGeneratorProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    public Summary generate() throws Exception {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+
+        // Continue after existing rows, so the generator can run against a populated database
+        long userBase = maxId("users");
+        long eventBase = maxId("events");
+        long versionBase = changeVersionBase();
+        String passwordHash = new BCryptPasswordEncoder().encode(properties.getPassword());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Users first, since events and RSVPs reference them
+            int users = properties.getUsers();
+            runChunks(executor, users, (from, to, random) -> writeUsers(userBase, from, to, passwordHash, now));
+            restartIdentity("users", userBase + users + 1);
+
+            int events = properties.getEvents();
+            runChunks(executor, events, (from, to, random) -> writeEvents(eventBase, versionBase, userBase, from, to,
+                    random, now));
+            restartIdentity("events", eventBase + events + 1);
+            raiseChangeVersion(versionBase + events);
+
+            // RSVPs per event by popularity rank, which is scattered over the ids
+            Popularity popularity = new Popularity(events, properties.getZipfExponent(),
+                    Math.round(events * properties.getRsvpsPerEvent()), users);
+            AtomicLong rsvps = new AtomicLong();
+            runChunks(executor, events, (from, to, random) -> rsvps.addAndGet(writeRsvps(eventBase, userBase,
+                    popularity, from, to, random, now)));
+
+            Summary summary = new Summary(users, events, rsvps.get(), Duration.ofNanos(System.nanoTime() - started));
+            log.info("Generated {} users, {} events and {} RSVPs in {} s", summary.users(), summary.events(),
+                    summary.rsvps(), summary.elapsed().toSeconds());
+            return summary;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runChunks(ExecutorService executor, int rows, ChunkWriter writer) throws Exception {
+        int chunk = properties.getBatchSize();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < rows; from += chunk) {
+            int start = from;
+            int end = Math.min(rows, from + chunk);
+            // One random stream per chunk keeps the output independent of the thread count
+            SplittableRandom random = new SplittableRandom(properties.getSeed() * 31 + start);
+            futures.add(executor.submit(() -> {
+                writer.write(start, end, random);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void writeUsers(long userBase, int from, int to, String passwordHash, LocalDateTime now)
+            throws SQLException {
+        Timestamp createdAt = Timestamp.valueOf(now);
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            long id = userBase + i + 1;
+            rows.add(new Object[]{id, "user" + id, "user" + id + "@example.com", passwordHash, createdAt, createdAt});
+        }
+        write("users", new String[]{"id", "username", "email", "password", "created_at", "updated_at"}, rows);
+    }
+
+    private void writeEvents(long eventBase, long versionBase, long userBase, int from, int to,
+                             SplittableRandom random, LocalDateTime now) throws SQLException {
+        int organizers = Math.max(1, (int) (properties.getUsers() * properties.getOrganizerShare()));
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            long id = eventBase + i + 1;
+            String topic = TOPICS[random.nextInt(TOPICS.length)];
+            String kind = KINDS[random.nextInt(KINDS.length)];
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + topic + " " + kind + " #" + id;
+            String location = VENUES[random.nextInt(VENUES.length)] + ", " + CITIES[random.nextInt(CITIES.length)];
+            String description = "A " + kind.toLowerCase() + " for everyone interested in " + topic.toLowerCase()
+                    + ", with talks, hands-on sessions and time to meet others from the community at " + location + ".";
+
+            LocalDateTime date = eventDate(random, now);
+            LocalDateTime createdAt = date.minusDays(1 + random.nextInt(90));
+            if (createdAt.isAfter(now)) {
+                createdAt = now.minusDays(random.nextInt(30));
+            }
+            long organizerId = userBase + 1 + random.nextInt(organizers);
+            rows.add(new Object[]{id, name, description, Timestamp.valueOf(date), location, organizerId,
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt), versionBase + i + 1});
+        }
+        write("events", new String[]{"id", "name", "description", "date", "location", "user_id", "created_at",
+                "updated_at", "change_version"}, rows);
+    }
+
+    private long writeRsvps(long eventBase, long userBase, Popularity popularity, int from, int to,
+                            SplittableRandom random, LocalDateTime now) throws SQLException {
+        int users = properties.getUsers();
+        List<Object[]> rows = new ArrayList<>();
+        long written = 0;
+        for (int i = from; i < to; i++) {
+            long eventId = eventBase + i + 1;
+            int count = popularity.rsvpCount(i, random);
+
+            // Distinct users: walk the users with a stride coprime to their number
+            int start = random.nextInt(users);
+            int stride = coprimeStride(users, random);
+            for (int k = 0; k < count; k++) {
+                long userId = userBase + 1 + (start + (long) k * stride) % users;
+                Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 60)));
+                rows.add(new Object[]{userId, eventId, STATUSES[random.nextInt(STATUSES.length)], createdAt, createdAt});
+            }
+            if (rows.size() >= properties.getBatchSize()) {
+                written += flushRsvps(rows);
+            }
+        }
+        return written + flushRsvps(rows);
+    }
+
+    private long flushRsvps(List<Object[]> rows) throws SQLException {
+        int count = rows.size();
+        if (count > 0) {
+            write("rsvps", new String[]{"user_id", "event_id", "status", "created_at", "updated_at"}, rows);
+            rows.clear();
+        }
+        return count;
+    }
+
+    // Dates over the configured range, on the hour or half hour, more often at weekends
+    private LocalDateTime eventDate(SplittableRandom random, LocalDateTime now) {
+        LocalDateTime day = now.toLocalDate().atStartOfDay()
+                .plusDays(random.nextInt(-properties.getPastDays(), properties.getFutureDays() + 1));
+        if (day.getDayOfWeek().getValue() < 6 && random.nextInt(3) == 0) {
+            day = day.plusDays(6 - day.getDayOfWeek().getValue() + random.nextInt(2));
+        }
+        return day.withHour(HOURS[random.nextInt(HOURS.length)]).withMinute(random.nextBoolean() ? 0 : 30);
+    }
+
+    private static int coprimeStride(int n, SplittableRandom random) {
+        if (n == 1) {
+            return 1;
+        }
+        while (true) {
+            int stride = 1 + random.nextInt(n - 1);
+            if (gcd(stride, n) == 1) {
+                return stride;
+            }
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private void write(String table, String[] columns, List<Object[]> rows) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            if (properties.isUseCopy() && connection.isWrapperFor(PGConnection.class)) {
+                copy(connection, table, columns, rows);
+            } else {
+                insert(connection, table, columns, rows);
+            }
+            connection.commit();
+        }
+    }
+
+    private static void copy(Connection connection, String table, String[] columns, List<Object[]> rows)
+            throws SQLException {
+        // Text format: generated values hold no tabs, newlines or backslashes
+        StringBuilder data = new StringBuilder(rows.size() * 128);
+        for (Object[] row : rows) {
+            for (int c = 0; c < row.length; c++) {
+                if (c > 0) {
+                    data.append('\t');
+                }
+                data.append(row[c] == null ? "\\N" : row[c]);
+            }
+            data.append('\n');
+        }
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(data.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into " + table + " failed", e);
+        }
+    }
+
+    private static void insert(Connection connection, String table, String[] columns, List<Object[]> rows)
+            throws SQLException {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + "?, ".repeat(columns.length - 1) + "?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Object[] row : rows) {
+                for (int c = 0; c < row.length; c++) {
+                    statement.setObject(c + 1, row[c]);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // Rows written with explicit ids leave the identity behind; move it past them
+    private void restartIdentity(String table, long next) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    // Generated events take versions above the sync counter, which is then moved past them
+    private long changeVersionBase() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT GREATEST("
+                     + "(SELECT COALESCE(MAX(last_value), 0) FROM change_counters WHERE name = 'event-version'), "
+                     + "(SELECT COALESCE(MAX(change_version), 0) FROM events))")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void raiseChangeVersion(long version) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE change_counters SET last_value = ? WHERE name = 'event-version' AND last_value < ?")) {
+            statement.setLong(1, version);
+            statement.setLong(2, version);
+            statement.executeUpdate();
+        }
+    }
+
+    public record Summary(int users, long events, long rsvps, Duration elapsed) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(int from, int to, SplittableRandom random) throws Exception;
+    }
+
+    /**
+     * Expected RSVPs per event under a Zipf distribution. Ranks are assigned by a multiplicative
+     * permutation of the event index, so popular events are scattered rather than clustered.
+     */
+    private static final class Popularity {
+        private final int events;
+        private final double exponent;
+        private final double perUnitWeight;
+        private final long multiplier;
+        private final int maxPerEvent;
+
+        private Popularity(int events, double exponent, long totalRsvps, int users) {
+            this.events = events;
+            this.exponent = exponent;
+            double harmonic = 0;
+            for (int rank = 1; rank <= events; rank++) {
+                harmonic += Math.pow(rank, -exponent);
+            }
+            this.perUnitWeight = totalRsvps / harmonic;
+            long candidate = 2_654_435_761L % Math.max(1, events);
+            while (events > 1 && (candidate < 1 || gcd((int) candidate, events) != 1)) {
+                candidate++;
+            }
+            this.multiplier = Math.max(1, candidate);
+            this.maxPerEvent = users;
+        }
+
+        int rsvpCount(int index, SplittableRandom random) {
+            long rank = 1 + (index * multiplier) % events;
+            double expected = perUnitWeight * Math.pow(rank, -exponent);
+            // Round randomly, so the long tail still gets its share
+            int count = (int) expected + (random.nextDouble() < expected - Math.floor(expected) ? 1 : 0);
+            return Math.min(maxPerEvent, count);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.opskube.eventmanagement.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What was hot when the application last stopped: the event and user ids held in the
+ * second-level cache and the keys of the cached event list pages. Only keys are kept, never
+ * rows, so a snapshot can't serve stale data. Ids are sorted and written as variable-length
+ * deltas, a byte or two each for dense ids.
+ */
+public record WarmupSnapshot(List<Long> eventIds, List<Long> userIds, List<String> pageKeys) {
+
+    private static final int MAGIC = 0x45564857;
+    private static final int VERSION = 1;
+
+    public static WarmupSnapshot read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a warm-up snapshot, or from another version: " + file);
+            }
+            List<Long> eventIds = readIds(in);
+            List<Long> userIds = readIds(in);
+            int pages = (int) readVarLong(in);
+            List<String> pageKeys = new ArrayList<>(pages);
+            for (int i = 0; i < pages; i++) {
+                pageKeys.add(in.readUTF());
+            }
+            return new WarmupSnapshot(eventIds, userIds, pageKeys);
+        }
+    }
+
+    // Written next to the file and moved over it, so a crash never leaves half a snapshot
+    public void write(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeIds(out, eventIds);
+            writeIds(out, userIds);
+            writeVarLong(out, pageKeys.size());
+            for (String key : pageKeys) {
+                out.writeUTF(key);
+            }
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeIds(DataOutputStream out, List<Long> ids) throws IOException {
+        long[] sorted = ids.stream().mapToLong(Long::longValue).filter(id -> id >= 0).sorted().distinct().toArray();
+        writeVarLong(out, sorted.length);
+        long previous = 0;
+        for (long id : sorted) {
+            writeVarLong(out, id - previous);
+            previous = id;
+        }
+    }
+
+    private static List<Long> readIds(DataInputStream in) throws IOException {
+        int count = (int) readVarLong(in);
+        List<Long> ids = new ArrayList<>(count);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readVarLong(in);
+            ids.add(previous);
+        }
+        return ids;
+    }
+
+    // Seven bits per byte, low bits first, with the high bit set on all but the last byte
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed warm-up snapshot");
+    }
+}
@@ -0,0 +1,205 @@
+package com.opskube.eventmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Black-box checks against a built application, started as its own process on embedded H2. Runs
+ * with {@code mvn -Pnative verify} against the native executable, or against any other build with
+ * {@code -Dsmoke.command}:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=ApplicationSmokeIT -Dsmoke.command="java -jar target/event-management-0.0.1-SNAPSHOT.jar"
+ * </pre>
+ *
+ * Covers what a native image loses without reachability metadata: entities, request and response
+ * DTOs, JWT signing and parsing, the JDBC driver and the data source proxies.
+ */
+@EnabledIfSystemProperty(named = "smoke.command", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ApplicationSmokeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private Process process;
+    private File log;
+    private String base;
+    private String managementBase;
+    private String organizer;
+    private String attendee;
+    private long eventId;
+
+    @BeforeAll
+    void start() throws Exception {
+        int port = freePort();
+        int managementPort = freePort();
+        List<String> command = new ArrayList<>(Arrays.asList(System.getProperty("smoke.command").trim().split("\\s+")));
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--management.server.port=" + managementPort,
+                "--spring.datasource.url=jdbc:h2:mem:smoke",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        log = File.createTempFile("smoke-", ".log");
+        process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        base = "http://localhost:" + port + "/api";
+        managementBase = "http://localhost:" + managementPort;
+
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (true) {
+            assertTrue(process.isAlive(), () -> "Application exited, see " + log);
+            assertTrue(System.nanoTime() < deadline, () -> "Application did not start, see " + log);
+            try {
+                if (send("GET", "/health", null, null).statusCode() == 200) {
+                    break;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @AfterAll
+    void stop() throws Exception {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            System.out.println("Application log: " + log);
+        }
+    }
+
+    @Test
+    @Order(1)
+    void registersAndLogsIn() throws Exception {
+        organizer = registerAndLogIn("smoke_organizer");
+        attendee = registerAndLogIn("smoke_attendee");
+
+        HttpResponse<String> profile = send("GET", "/auth/profile", null, organizer);
+        assertEquals(200, profile.statusCode(), profile::body);
+        assertEquals("smoke_organizer", json(profile).path("username").asText());
+    }
+
+    @Test
+    @Order(2)
+    void rejectsBadTokensAndInvalidRequests() throws Exception {
+        // A tampered token leaves the request anonymous
+        assertNotEquals(200, send("GET", "/auth/profile", null, organizer + "x").statusCode());
+
+        HttpResponse<String> invalid = send("POST", "/events", Map.of("name", "x"), organizer);
+        assertEquals(400, invalid.statusCode(), invalid::body);
+        assertTrue(invalid.body().contains("description"), invalid::body);
+    }
+
+    @Test
+    @Order(3)
+    void createsAndReadsEvents() throws Exception {
+        String date = LocalDateTime.now().plusDays(7).format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm"));
+        HttpResponse<String> created = send("POST", "/events",
+                Map.of("name", "Smoke test", "description", "Checks the build", "date", date, "location", "Online"),
+                organizer);
+        assertEquals(201, created.statusCode(), created::body);
+        eventId = json(created).path("id").asLong();
+
+        HttpResponse<String> event = send("GET", "/events/" + eventId, null, null);
+        assertEquals(200, event.statusCode(), event::body);
+        assertEquals("Smoke test", json(event).path("name").asText());
+
+        HttpResponse<String> events = send("GET", "/events?upcoming=true", null, null);
+        assertEquals(200, events.statusCode(), events::body);
+        assertTrue(events.body().contains("Smoke test"), events::body);
+    }
+
+    @Test
+    @Order(4)
+    void recordsRsvps() throws Exception {
+        HttpResponse<String> rsvp = send("POST", "/events/" + eventId + "/rsvp", Map.of("status", "ATTENDING"), attendee);
+        assertEquals(200, rsvp.statusCode(), rsvp::body);
+        assertEquals("ATTENDING", json(rsvp).path("rsvp").path("status").asText());
+
+        HttpResponse<String> rsvps = send("GET", "/events/" + eventId + "/rsvp", null, organizer);
+        assertEquals(200, rsvps.statusCode(), rsvps::body);
+        assertTrue(rsvps.body().contains("smoke_attendee"), rsvps::body);
+    }
+
+    @Test
+    @Order(5)
+    void exposesMetrics() throws Exception {
+        HttpResponse<String> metrics = client.send(HttpRequest.newBuilder(URI.create(managementBase + "/metrics")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, metrics.statusCode());
+        assertTrue(metrics.body().contains("db_connection_acquire_seconds"), "Connection metrics missing");
+
+        // Not on the public port
+        assertNotEquals(200, send("GET", "/metrics", null, null).statusCode());
+    }
+
+    private String registerAndLogIn(String username) throws Exception {
+        String email = username + "@example.com";
+        HttpResponse<String> register = send("POST", "/auth/register",
+                Map.of("username", username, "email", email, "password", "password123"), null);
+        assertEquals(201, register.statusCode(), register::body);
+
+        HttpResponse<String> login = send("POST", "/auth/login", Map.of("email", email, "password", "password123"), null);
+        assertEquals(200, login.statusCode(), login::body);
+        return json(login).path("token").asText();
+    }
+
+    private HttpResponse<String> send(String method, String path, Object body, String bearer) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofSeconds(10))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                .header("Content-Type", "application/json");
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws Exception {
+        return mapper.readTree(response.body());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.dto.EventDto.EventRequest;
+import com.opskube.eventmanagement.dto.EventDto.EventResponse;
+import com.opskube.eventmanagement.exception.ResourceNotFoundException;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.repository.UserRepository;
+import com.opskube.eventmanagement.services.EventService;
+import com.opskube.eventmanagement.services.UpcomingEventsService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Two application contexts sharing one database, standing in for two nodes: writes on one must
+ * reach the caches of the other through the invalidation log.
+ */
+class CacheInvalidationTests {
+
+    private static final String ORGANIZER_EMAIL = "organizer@example.com";
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        String url = "jdbc:h2:mem:invalidation-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+        nodeA = startNode("node-a", url);
+        nodeB = startNode("node-b", url);
+
+        nodeA.getBean(UserRepository.class).save(User.builder()
+                .username("organizer")
+                .email(ORGANIZER_EMAIL)
+                .password("not-a-real-hash")
+                .build());
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void updateOnOneNodeIsSeenByTheOther() {
+        EventService eventsA = nodeA.getBean(EventService.class);
+        EventService eventsB = nodeB.getBean(EventService.class);
+        Long id = asOrganizer(() -> eventsA.createEvent(request("Original name"))).getId();
+
+        // Node B caches the event and takes it into its upcoming events snapshot, then node A renames it
+        awaitOnNodeB(() -> eventsB.getEventById(id).getName(), "Original name");
+        nodeB.getBean(UpcomingEventsService.class).refresh();
+        asOrganizer(() -> eventsA.updateEvent(id, request("Renamed")));
+
+        awaitOnNodeB(() -> eventsB.getEventById(id).getName(), "Renamed");
+        awaitOnNodeB(() -> eventsB.getEventsByIds(List.of(id)).get(0).getName(), "Renamed");
+    }
+
+    @Test
+    void deleteOnOneNodeIsSeenByTheOther() {
+        EventService eventsA = nodeA.getBean(EventService.class);
+        EventService eventsB = nodeB.getBean(EventService.class);
+        Long id = asOrganizer(() -> eventsA.createEvent(request("Short lived"))).getId();
+        awaitOnNodeB(() -> eventsB.getEventById(id).getName(), "Short lived");
+        nodeB.getBean(UpcomingEventsService.class).refresh();
+
+        asOrganizer(() -> {
+            eventsA.deleteEvent(id);
+            return null;
+        });
+
+        awaitOnNodeB(() -> eventsB.getEventsByIds(List.of(id)).size(), 0);
+        assertThrows(ResourceNotFoundException.class, () -> eventsB.getEventById(id));
+    }
+
+    @Test
+    void olderEntriesForTheSameEventAreDiscarded() {
+        EventService eventsA = nodeA.getBean(EventService.class);
+        EventService eventsB = nodeB.getBean(EventService.class);
+        Long id = asOrganizer(() -> eventsA.createEvent(request("First"))).getId();
+        asOrganizer(() -> eventsA.updateEvent(id, request("Second")));
+        awaitOnNodeB(() -> eventsB.getEventById(id).getName(), "Second");
+
+        // Entries record the versions their writes took
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT change_version FROM cache_invalidations WHERE entity_id = ? ORDER BY id", Long.class, id);
+        assertEquals(2, versions.size());
+        assertTrue(versions.get(0) < versions.get(1));
+
+        // An entry for the older write showing up late, as a slow transaction's would, changes nothing
+        Counter stale = nodeB.getBean(MeterRegistry.class).counter("cache.invalidation.stale");
+        double staleBefore = stale.count();
+        jdbcTemplate.update("INSERT INTO cache_invalidations (entity_type, entity_id, change_type, change_version, "
+                + "origin, created_at) VALUES ('Event', ?, 'UPDATED', ?, 'node-c', ?)", id, versions.get(0),
+                LocalDateTime.now());
+        awaitOnNodeB(stale::count, staleBefore + 1);
+        assertEquals("Second", eventsB.getEventById(id).getName());
+    }
+
+    private static ConfigurableApplicationContext startNode(String name, String url) {
+        // Both contexts get the same JCache manager, so prefix their regions to keep their caches apart
+        return new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.jpa.properties.hibernate.cache.region_prefix=" + name,
+                        "--spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--app.cache-invalidation.poll-interval-ms=100");
+    }
+
+    private static EventRequest request(String name) {
+        return EventRequest.builder()
+                .name(name)
+                .description("Cache invalidation test")
+                .date(LocalDateTime.now().plusDays(7))
+                .location("Test location")
+                .build();
+    }
+
+    private static <T> T asOrganizer(Supplier<T> action) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(ORGANIZER_EMAIL, null, List.of()));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Retries until node B returns the expected value, well within the bounded delay
+    private static <T> void awaitOnNodeB(Supplier<T> read, T expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        T actual = read.get();
+        while (!expected.equals(actual)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Node B still returned " + actual + " instead of " + expected);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting for node B");
+            }
+            actual = read.get();
+        }
+        assertEquals(expected, actual);
+    }
+}
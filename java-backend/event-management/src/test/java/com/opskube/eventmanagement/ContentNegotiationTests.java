@@ -0,0 +1,84 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.filter.EventPageCacheFilter;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.services.EventService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.opskube.eventmanagement.TestApplication.as;
+import static com.opskube.eventmanagement.TestApplication.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Listings are negotiated on {@code Accept} and cached per encoding, so every response, whether
+ * rendered or answered from the page cache, must list both headers in {@code Vary}, next to
+ * whatever CORS adds.
+ */
+class ContentNegotiationTests {
+
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+    private static Long eventId;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.startWeb();
+        mockMvc = TestApplication.mockMvc(context, context.getBean(EventPageCacheFilter.class));
+        User organizer = TestApplication.createUser(context, "negotiation_organizer");
+        eventId = as(organizer, () -> context.getBean(EventService.class)
+                .createEvent(request("Negotiated meetup", "Test location", LocalDateTime.now().plusDays(3)))).getId();
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void renderedAndCachedListingsVaryOnAcceptAndEncoding() throws Exception {
+        MockHttpServletResponse rendered = listing(MediaType.APPLICATION_JSON_VALUE);
+        MockHttpServletResponse cached = listing(MediaType.APPLICATION_JSON_VALUE);
+
+        assertEquals(rendered.getContentAsString(), cached.getContentAsString());
+        assertTrue(vary(rendered).containsAll(Set.of("accept", "accept-encoding")), rendered.getHeaders(HttpHeaders.VARY)::toString);
+        assertTrue(vary(cached).containsAll(Set.of("accept", "accept-encoding")), cached.getHeaders(HttpHeaders.VARY)::toString);
+    }
+
+    @Test
+    void binaryListingsAndSingleEventsVaryOnAccept() throws Exception {
+        MockHttpServletResponse cbor = listing("application/cbor");
+        MockHttpServletResponse event = mockMvc.perform(get("/events/" + eventId)
+                .accept("application/x-jackson-smile")).andReturn().getResponse();
+
+        assertEquals("application/cbor", cbor.getContentType());
+        assertTrue(vary(cbor).contains("accept"));
+        assertEquals("application/x-jackson-smile", event.getContentType());
+        assertTrue(vary(event).contains("accept"));
+    }
+
+    private static MockHttpServletResponse listing(String accept) throws Exception {
+        return mockMvc.perform(get("/events").param("page", "0").accept(accept)).andReturn().getResponse();
+    }
+
+    private static Set<String> vary(MockHttpServletResponse response) {
+        List<String> headers = response.getHeaders(HttpHeaders.VARY);
+        return headers.stream()
+                .flatMap(header -> List.of(header.split(",")).stream())
+                .map(name -> name.trim().toLowerCase())
+                .collect(Collectors.toSet());
+    }
+}
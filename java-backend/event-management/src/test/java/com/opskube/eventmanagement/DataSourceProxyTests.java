@@ -0,0 +1,65 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.util.ConnectionMonitoringDataSource;
+import com.opskube.eventmanagement.util.GatedDataSource;
+import com.opskube.eventmanagement.util.QueryStatistics;
+import com.opskube.eventmanagement.util.StatementTimingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The connection and statement proxies must behave as values of their own in collections, the way
+ * connection pools and transaction managers use them.
+ */
+class DataSourceProxyTests {
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    @Test
+    void proxiesEqualThemselvesOnly() throws Exception {
+        DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:proxies-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource dataSource = new GatedDataSource(new StatementTimingDataSource(
+                new ConnectionMonitoringDataSource(h2, false), new QueryStatistics(10), NEVER, NEVER), 2, 100);
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertTrue(first.equals(first));
+            assertNotEquals(first, second);
+            assertEquals(first.hashCode(), first.hashCode());
+            assertTrue(Set.of(first, second).contains(first));
+
+            try (PreparedStatement statement = first.prepareStatement("SELECT 1");
+                 PreparedStatement other = first.prepareStatement("SELECT 1")) {
+                assertTrue(statement.equals(statement));
+                assertNotEquals(statement, other);
+                assertTrue(statement.executeQuery().next());
+            }
+        }
+    }
+
+    @Test
+    void closingStillReturnsThePermit() throws Exception {
+        DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:permits-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        GatedDataSource dataSource = new GatedDataSource(new ConnectionMonitoringDataSource(h2, false), 1, 50);
+
+        Connection connection = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        // Neither comparing nor closing twice gives back more than the one permit
+        assertTrue(connection.equals(connection));
+        connection.close();
+        connection.close();
+        dataSource.getConnection().close();
+        assertEquals(1, dataSource.getTimeouts());
+    }
+}
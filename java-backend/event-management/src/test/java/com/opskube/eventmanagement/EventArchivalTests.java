@@ -0,0 +1,173 @@
+package com.opskube.eventmanagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.dto.EventDto.EventChange;
+import com.opskube.eventmanagement.dto.EventDto.EventChangeType;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.services.EventArchivalService;
+import com.opskube.eventmanagement.services.EventService;
+import com.opskube.eventmanagement.services.EventSyncService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.opskube.eventmanagement.TestApplication.as;
+import static com.opskube.eventmanagement.TestApplication.request;
+import static com.opskube.eventmanagement.TestApplication.runAs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Archival moves old events and their RSVPs out of the hot tables in batches, reads by id, multi-gets
+ * and the attending list still find them, and syncing clients are told they left.
+ */
+class EventArchivalTests {
+
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static JdbcTemplate jdbcTemplate;
+    private static EventService events;
+    private static EventSyncService sync;
+    private static User organizer;
+    private static User attendee;
+
+    @BeforeAll
+    static void start() {
+        // Archived only when a test asks, two events per batch so a run spans several
+        context = TestApplication.startWeb("--app.archival.enabled=false", "--app.archival.age=30d",
+                "--app.archival.batch-size=2", "--app.archival.batch-pause=0ms");
+        mockMvc = TestApplication.mockMvc(context);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        events = context.getBean(EventService.class);
+        sync = context.getBean(EventSyncService.class);
+        organizer = TestApplication.createUser(context, "archive_organizer");
+        attendee = TestApplication.createUser(context, "archive_attendee");
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void movesOldEventsWithTheirRsvpsAndKeepsThemReadable() throws Exception {
+        List<Long> old = List.of(pastEvent("Old One", 100), pastEvent("Old Two", 60), pastEvent("Old Three", 45));
+        Long recent = pastEvent("Recent", 10);
+        Long upcoming = as(organizer, () -> events.createEvent(request("Upcoming", "Hall", LocalDateTime.now().plusDays(5))))
+                .getId();
+        rsvp(old.get(0), "ATTENDING");
+        rsvp(old.get(1), "MAYBE");
+        rsvp(recent, "ATTENDING");
+        sync.stampUnversionedEvents();
+        Map<Long, Long> versions = versions("events");
+
+        assertEquals(3, context.getBean(EventArchivalService.class).archive());
+        assertEquals(0, context.getBean(EventArchivalService.class).archive());
+
+        // Copied with their RSVPs and versions, then gone from the hot tables
+        Set<Long> hot = new HashSet<>(ids("SELECT id FROM events"));
+        assertTrue(hot.containsAll(List.of(recent, upcoming)));
+        old.forEach(id -> assertFalse(hot.contains(id)));
+        assertTrue(ids("SELECT id FROM archived_events").containsAll(old));
+        assertEquals(List.of(old.get(0), old.get(1)), ids("SELECT event_id FROM archived_rsvps ORDER BY event_id"));
+        assertEquals(List.of(recent), ids("SELECT event_id FROM rsvps"));
+        Map<Long, Long> archivedVersions = versions("archived_events");
+        old.forEach(id -> assertEquals(versions.get(id), archivedVersions.get(id)));
+
+        // Still readable by id and in the attending list
+        assertEquals("Old Two", events.getEventById(old.get(1)).getName());
+        assertEquals(List.of("Old One", "Old Two", "Recent"),
+                names(get("/events/attending").with(user(attendee.getEmail()))));
+    }
+
+    @Test
+    void syncingClientsSeeArchivedAndDeletedEventsLeave() {
+        Long archived = pastEvent("Archived For Sync", 200);
+        Long deleted = as(organizer, () -> events.createEvent(request("Deleted For Sync", "Hall",
+                LocalDateTime.now().plusDays(5)))).getId();
+        sync.stampUnversionedEvents();
+        long since = sync.currentVersion();
+
+        runAs(organizer, () -> events.deleteEvent(deleted));
+        context.getBean(EventArchivalService.class).archive();
+
+        List<EventChange> changes = events.getChanges(since, 100).getChanges();
+        Map<Long, EventChangeType> types = changes.stream()
+                .collect(Collectors.toMap(EventChange::getEventId, EventChange::getType));
+        assertEquals(Map.of(deleted, EventChangeType.DELETED, archived, EventChangeType.ARCHIVED), types);
+        changes.forEach(change -> assertNull(change.getEvent()));
+        assertEquals(List.of(since + 1, since + 2), changes.stream().map(EventChange::getVersion).toList());
+
+        // Archived events stay readable even though the feed reported them gone
+        assertEquals("Archived For Sync", events.getEventById(archived).getName());
+    }
+
+    @Test
+    void multiGetsIncludeArchivedEvents() throws Exception {
+        Long archived = pastEvent("Archived For Batch", 300);
+        Long hot = as(organizer, () -> events.createEvent(request("Hot For Batch", "Hall",
+                LocalDateTime.now().plusDays(5)))).getId();
+        context.getBean(EventArchivalService.class).archive();
+
+        // Request order is kept across the snapshot, the hot table and the archive
+        assertEquals(List.of("Hot For Batch", "Archived For Batch"),
+                names(get("/events").param("ids", hot + ",999999," + archived)));
+        assertEquals(List.of("Archived For Batch", "Hot For Batch"), names(post("/events/batch")
+                .with(user(attendee.getEmail()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + archived + "," + hot + "]}")));
+    }
+
+    private static List<String> names(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertEquals(200, result.getResponse().getStatus());
+        List<String> names = new ArrayList<>();
+        objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .forEach(event -> names.add(event.get("name").asText()));
+        return names;
+    }
+
+    private static Long pastEvent(String name, int daysAgo) {
+        Timestamp date = Timestamp.valueOf(LocalDateTime.now().minusDays(daysAgo));
+        jdbcTemplate.update("INSERT INTO events (name, description, date, location, user_id, created_at) "
+                + "VALUES (?, 'Past', ?, 'Hall', ?, ?)", name, date, organizer.getId(), date);
+        return jdbcTemplate.queryForObject("SELECT id FROM events WHERE name = ?", Long.class, name);
+    }
+
+    private static void rsvp(Long eventId, String status) {
+        jdbcTemplate.update("INSERT INTO rsvps (user_id, event_id, status, created_at) VALUES (?, ?, ?, ?)",
+                attendee.getId(), eventId, status, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static List<Long> ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class);
+    }
+
+    private static Map<Long, Long> versions(String table) {
+        return jdbcTemplate.queryForList("SELECT id, change_version FROM " + table).stream()
+                .collect(Collectors.toMap(row -> ((Number) row.get("id")).longValue(),
+                        row -> ((Number) row.get("change_version")).longValue()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.opskube.eventmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.services.EventService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.opskube.eventmanagement.TestApplication.as;
+import static com.opskube.eventmanagement.TestApplication.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Multi-gets answer in request order from the upcoming events snapshot and the database together,
+ * skip unknown ids and refuse more ids than a page holds.
+ */
+class EventBatchTests {
+
+    private static final int MAX_IDS = 5;
+
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static User organizer;
+    private static long soon;
+    private static long later;
+    private static long past;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.startWeb("--app.pagination.max-size=" + MAX_IDS);
+        mockMvc = TestApplication.mockMvc(context);
+        organizer = TestApplication.createUser(context, "batch_organizer");
+
+        // Upcoming events come from the snapshot, past ones from the database
+        EventService events = context.getBean(EventService.class);
+        soon = as(organizer, () -> events.createEvent(request("Soon", "Hall A", LocalDateTime.now().plusDays(1)))).getId();
+        later = as(organizer, () -> events.createEvent(request("Later", "Hall B", LocalDateTime.now().plusDays(2)))).getId();
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp lastWeek = Timestamp.valueOf(LocalDateTime.now().minusDays(7));
+        jdbc.update("INSERT INTO events (name, description, date, location, user_id, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                "Past", "Past description", lastWeek, "Hall C", organizer.getId(), lastWeek);
+        past = jdbc.queryForObject("SELECT id FROM events WHERE name = 'Past'", Long.class);
+
+        // Moves an event behind the other one in the snapshot after it was built
+        as(organizer, () -> events.updateEvent(soon, request("Soon", "Hall A", LocalDateTime.now().plusDays(3))));
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void getReturnsEventsInRequestOrderWithoutUnknownIds() throws Exception {
+        JsonNode events = json(get("/events").param("ids", later + "," + past + ",999999," + soon + "," + later));
+
+        assertEquals(List.of(later, past, soon), ids(events));
+        assertEquals(List.of("Later", "Past", "Soon"), names(events));
+        assertEquals("Hall C", events.get(1).get("location").asText());
+    }
+
+    @Test
+    void batchReturnsTheSameAsGet() throws Exception {
+        String body = "{\"ids\":[" + past + "," + soon + ",999999," + later + "]}";
+        JsonNode events = json(post("/events/batch").with(user(organizer.getEmail()))
+                .contentType(MediaType.APPLICATION_JSON).content(body));
+
+        assertEquals(List.of(past, soon, later), ids(events));
+        assertEquals(json(get("/events").param("ids", past + "," + soon + "," + later)), events);
+    }
+
+    @Test
+    void refusesMoreIdsThanAPageHolds() throws Exception {
+        // Repeated ids count once
+        String allowed = soon + "," + soon + ",1,2,3,4";
+        assertEquals(200, perform(get("/events").param("ids", allowed)).getResponse().getStatus());
+
+        MvcResult result = perform(get("/events").param("ids", "1,2,3,4,5,6"));
+        assertEquals(400, result.getResponse().getStatus());
+        assertEquals("At most " + MAX_IDS + " event ids can be requested at once",
+                objectMapper.readTree(result.getResponse().getContentAsString()).get("message").asText());
+
+        MvcResult batch = perform(post("/events/batch").with(user(organizer.getEmail()))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[1,2,3,4,5,6]}"));
+        assertEquals(400, batch.getResponse().getStatus());
+    }
+
+    private static MvcResult perform(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn();
+    }
+
+    private static JsonNode json(RequestBuilder request) throws Exception {
+        MvcResult result = perform(request);
+        assertEquals(200, result.getResponse().getStatus());
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> ids(JsonNode events) {
+        List<Long> ids = new ArrayList<>();
+        events.forEach(event -> ids.add(event.get("id").asLong()));
+        return ids;
+    }
+
+    private static List<String> names(JsonNode events) {
+        List<String> names = new ArrayList<>();
+        events.forEach(event -> names.add(event.get("name").asText()));
+        return names;
+    }
+}
@@ -0,0 +1,183 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.filter.EventPageCacheFilter;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.services.EventPageCache;
+import com.opskube.eventmanagement.services.EventService;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static com.opskube.eventmanagement.TestApplication.as;
+import static com.opskube.eventmanagement.TestApplication.request;
+import static com.opskube.eventmanagement.TestApplication.runAs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@link EventPageCacheFilter} answers repeated listings without reaching the controller, and
+ * never serves a page older than the last committed event write or its maximum age.
+ */
+class EventPageCacheTests {
+
+    private static ConfigurableApplicationContext context;
+    private static EventPageCache eventPageCache;
+    private static EventService eventService;
+    private static User organizer;
+
+    // Requests that got past the page cache, and an action to run just before rendering
+    private static final AtomicInteger rendered = new AtomicInteger();
+    private static volatile Runnable beforeRender = () -> { };
+    private static MockMvc mockMvc;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.startWeb();
+        mockMvc = mockMvc(context);
+        eventPageCache = context.getBean(EventPageCache.class);
+        eventService = context.getBean(EventService.class);
+        organizer = TestApplication.createUser(context, "page_cache_organizer");
+        as(organizer, () -> eventService.createEvent(
+                request("Cached meetup", "Test location", LocalDateTime.now().plusDays(3))));
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @BeforeEach
+    void reset() {
+        eventPageCache.onEventChanged(null);
+        rendered.set(0);
+        beforeRender = () -> { };
+    }
+
+    @Test
+    void aMissIsRenderedAndTheRepeatIsAnsweredFromTheCache() throws Exception {
+        MockHttpServletResponse miss = perform(listing());
+        MockHttpServletResponse hit = perform(listing());
+
+        assertEquals(1, rendered.get());
+        assertEquals(200, hit.getStatus());
+        assertEquals(miss.getContentAsString(StandardCharsets.UTF_8), hit.getContentAsString(StandardCharsets.UTF_8));
+        assertTrue(hit.getContentAsString(StandardCharsets.UTF_8).contains("Cached meetup"));
+    }
+
+    @Test
+    void outOfRangeParametersShareTheKeyOfTheClampedValues() throws Exception {
+        perform(get("/events").param("page", "0").param("limit", "100"));
+        perform(get("/events").param("page", "-1").param("limit", "1000"));
+
+        assertEquals(1, rendered.get());
+    }
+
+    @Test
+    void unknownParametersBypassTheCache() throws Exception {
+        perform(listing().param("name", "Cached"));
+        perform(listing().param("name", "Cached"));
+
+        assertEquals(2, rendered.get());
+        assertTrue(eventPageCache.keys().isEmpty());
+    }
+
+    @Test
+    void committedWritesDropTheCachedPages() throws Exception {
+        perform(listing());
+        Long id = as(organizer, () -> eventService.createEvent(
+                request("Written meetup", "Test location", LocalDateTime.now().plusDays(4)))).getId();
+        assertTrue(perform(listing()).getContentAsString(StandardCharsets.UTF_8).contains("Written meetup"));
+
+        runAs(organizer, () -> eventService.updateEvent(id,
+                request("Renamed meetup", "Test location", LocalDateTime.now().plusDays(4))));
+        assertTrue(perform(listing()).getContentAsString(StandardCharsets.UTF_8).contains("Renamed meetup"));
+
+        runAs(organizer, () -> eventService.deleteEvent(id));
+        String afterDelete = perform(listing()).getContentAsString(StandardCharsets.UTF_8);
+        assertFalse(afterDelete.contains("Renamed meetup"), afterDelete);
+
+        assertEquals(4, rendered.get());
+    }
+
+    @Test
+    void aRenderRacingAWriteIsNotStored() throws Exception {
+        beforeRender = () -> eventPageCache.onEventChanged(null);
+        perform(listing());
+        beforeRender = () -> { };
+        perform(listing());
+
+        assertEquals(2, rendered.get());
+    }
+
+    @Test
+    void gzipIsServedOnlyWhenAccepted() throws Exception {
+        String json = perform(listing()).getContentAsString(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse gzip = perform(listing().header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+            assertEquals(json, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        MockHttpServletResponse refused = perform(listing().header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"));
+        assertNull(refused.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(json, refused.getContentAsString(StandardCharsets.UTF_8));
+
+        assertEquals(1, rendered.get());
+    }
+
+    @Test
+    void binaryFormatsBypassTheCache() throws Exception {
+        perform(listing());
+        MockHttpServletResponse cbor = perform(listing().accept("application/cbor"));
+
+        assertEquals("application/cbor", cbor.getContentType());
+        assertEquals(2, rendered.get());
+    }
+
+    @Test
+    void pagesExpireAfterTheirMaximumAge() throws Exception {
+        try (ConfigurableApplicationContext shortLived = TestApplication.startWeb("--app.page-cache.max-age-ms=100")) {
+            MockMvc shortLivedMockMvc = mockMvc(shortLived);
+            shortLivedMockMvc.perform(listing());
+            Thread.sleep(200);
+            shortLivedMockMvc.perform(listing());
+
+            assertEquals(2, rendered.get());
+        }
+    }
+
+    // The page cache, then a filter counting what reaches the controller
+    private static MockMvc mockMvc(ConfigurableApplicationContext context) {
+        Filter counting = (request, response, chain) -> {
+            rendered.incrementAndGet();
+            beforeRender.run();
+            chain.doFilter(request, response);
+        };
+        return TestApplication.mockMvc(context, context.getBean(EventPageCacheFilter.class), counting);
+    }
+
+    private static MockHttpServletRequestBuilder listing() {
+        return get("/events").param("page", "0");
+    }
+
+    private static MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,121 @@
+package com.opskube.eventmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.model.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Sparse fieldsets and the summary view leave unrequested fields out, while full responses keep
+ * every field, null or not, as they always have.
+ */
+class EventProjectionTests {
+
+    private static final String LONG_DESCRIPTION = "Word ".repeat(100).trim();
+
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static User organizer;
+
+    @BeforeAll
+    static void start() {
+        // Listings go to the database rather than the upcoming events snapshot or the page cache
+        context = TestApplication.startWeb("--app.upcoming.enabled=false", "--app.page-cache.enabled=false",
+                "--app.events.summary-snippet-length=20");
+        mockMvc = TestApplication.mockMvc(context);
+        organizer = TestApplication.createUser(context, "projection_organizer");
+
+        // Written without an update timestamp, as seeded and generated events are
+        Timestamp date = Timestamp.valueOf(LocalDateTime.now().plusDays(10));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        context.getBean(JdbcTemplate.class).update("INSERT INTO events (name, description, date, location, user_id, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, NULL)",
+                "Kite illustration fair", LONG_DESCRIPTION, date, "Kadikoy", organizer.getId(), now);
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void fullListingsKeepNullFields() throws Exception {
+        JsonNode event = firstEvent(get("/events"));
+
+        assertEquals(List.of("id", "name", "description", "date", "location", "organizer", "createdAt", "updatedAt"),
+                fieldNames(event));
+        assertTrue(event.get("updatedAt").isNull());
+        assertEquals(LONG_DESCRIPTION, event.get("description").asText());
+    }
+
+    @Test
+    void sparseFieldsetsReturnOnlyTheRequestedFields() throws Exception {
+        assertEquals(List.of("name", "date"), fieldNames(firstEvent(get("/events").param("fields", "name,date"))));
+        assertEquals(List.of("id", "organizer"), fieldNames(firstEvent(get("/events").param("fields", "organizer,id"))));
+
+        // A requested field that is null stays out as well
+        assertEquals(List.of("name"), fieldNames(firstEvent(get("/events").param("fields", "name,updatedAt"))));
+
+        mockMvc.perform(get("/events").param("fields", "name,secret"))
+                .andExpect(result -> assertEquals(400, result.getResponse().getStatus()));
+    }
+
+    @Test
+    void summaryViewCutsTheDescription() throws Exception {
+        JsonNode event = firstEvent(get("/events").param("view", "summary"));
+
+        assertEquals(List.of("id", "name", "description", "date", "location"), fieldNames(event));
+        assertEquals("Word Word Word Word…", event.get("description").asText());
+
+        // The user's own events take the same parameters
+        JsonNode mine = json(get("/events/my-events").param("view", "summary").with(user(organizer.getEmail())));
+        assertEquals(List.of("id", "name", "description", "date", "location"), fieldNames(mine.get(0)));
+    }
+
+    @Test
+    void nameFiltersIgnoreCaseWhateverTheDefaultLocale() throws Exception {
+        // The stored name is lower case already, so the database's own LOWER plays no part
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            JsonNode events = json(get("/events").param("name", "ILLUSTRATION").param("fields", "name")).get("events");
+            assertEquals(1, events.size());
+            assertEquals("Kite illustration fair", events.get(0).get("name").asText());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private static JsonNode firstEvent(RequestBuilder request) throws Exception {
+        return json(request).get("events").get(0);
+    }
+
+    private static JsonNode json(RequestBuilder request) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request).andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
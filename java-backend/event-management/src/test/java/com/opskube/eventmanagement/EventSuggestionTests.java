@@ -0,0 +1,101 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.dto.SuggestionDto.SuggestionResponse;
+import com.opskube.eventmanagement.dto.SuggestionDto.SuggestionType;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.services.EventService;
+import com.opskube.eventmanagement.services.EventSuggestionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.opskube.eventmanagement.TestApplication.as;
+import static com.opskube.eventmanagement.TestApplication.request;
+import static com.opskube.eventmanagement.TestApplication.runAs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Suggestions must follow committed writes at once, through the overlay, and agree with what a
+ * rebuild from the database returns.
+ */
+class EventSuggestionTests {
+
+    private static ConfigurableApplicationContext context;
+    private static EventService events;
+    private static EventSuggestionService suggestions;
+    private static User organizer;
+
+    @BeforeAll
+    static void start() {
+        // Rebuilds only when the tests ask for them
+        context = TestApplication.start("--app.suggest.check-interval-ms=3600000");
+        events = context.getBean(EventService.class);
+        suggestions = context.getBean(EventSuggestionService.class);
+        organizer = TestApplication.createUser(context, "suggest_organizer");
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void updatedAndDeletedEventsMoveTheirLocationsAlong() {
+        Long first = as(organizer, () -> events.createEvent(request("Harbor Jazz", "Quayside Hall", inDays(3)))).getId();
+        Long second = as(organizer, () -> events.createEvent(request("Harbor Blues", "Quayside Hall", inDays(4)))).getId();
+        suggestions.rebuild();
+        assertEquals(List.of("Quayside Hall"), texts("quays", SuggestionType.LOCATION));
+
+        // One event moves away, the other one is still there
+        as(organizer, () -> events.updateEvent(first, request("Harbor Jazz", "Riverside Hall", inDays(3))));
+        assertEquals(List.of("Quayside Hall"), texts("quays", SuggestionType.LOCATION));
+        assertEquals(List.of("Riverside Hall"), texts("rivers", SuggestionType.LOCATION));
+
+        // Once the last one is deleted nothing is at the location any more, before and after a rebuild
+        runAs(organizer, () -> events.deleteEvent(second));
+        assertEquals(List.of(), texts("quays", SuggestionType.LOCATION));
+        assertEquals(List.of("Harbor Jazz"), texts("harbor", SuggestionType.EVENT));
+        suggestions.rebuild();
+        assertEquals(List.of(), texts("quays", SuggestionType.LOCATION));
+        assertEquals(List.of("Riverside Hall"), texts("rivers", SuggestionType.LOCATION));
+        assertEquals(List.of("Harbor Jazz"), texts("harbor", SuggestionType.EVENT));
+    }
+
+    @Test
+    void renamedEventsAreFoundByTheirNewNameOnly() {
+        Long id = as(organizer, () -> events.createEvent(request("Pottery Basics", "Clay Studio", inDays(5)))).getId();
+        suggestions.rebuild();
+        as(organizer, () -> events.updateEvent(id, request("Ceramics Basics", "Clay Studio", inDays(5))));
+
+        assertEquals(List.of(), texts("pottery", SuggestionType.EVENT));
+        assertEquals(List.of("Ceramics Basics"), texts("ceram", SuggestionType.EVENT));
+        assertEquals(List.of("Clay Studio"), texts("clay", SuggestionType.LOCATION));
+    }
+
+    @Test
+    void pendingEventsFollowTheSameWordLimitAsTheIndex() {
+        String longName = "Alpha Beta Gamma Delta Epsilon Zeta Eta Theta Iota Kappa";
+        as(organizer, () -> events.createEvent(request(longName, "Greek Hall", inDays(6))));
+        assertEquals(List.of(longName), texts("theta", SuggestionType.EVENT));
+        assertEquals(List.of(), texts("iota", SuggestionType.EVENT));
+
+        suggestions.rebuild();
+        assertEquals(List.of(longName), texts("theta", SuggestionType.EVENT));
+        assertEquals(List.of(), texts("iota", SuggestionType.EVENT));
+    }
+
+    private static List<String> texts(String prefix, SuggestionType type) {
+        return suggestions.suggest(prefix, 10).getSuggestions().stream()
+                .filter(suggestion -> suggestion.getType() == type)
+                .map(SuggestionResponse::getText)
+                .toList();
+    }
+
+    private static LocalDateTime inDays(int days) {
+        return LocalDateTime.now().plusDays(days);
+    }
+}
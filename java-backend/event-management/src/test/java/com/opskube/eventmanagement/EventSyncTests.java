@@ -0,0 +1,145 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.dto.EventDto.EventChange;
+import com.opskube.eventmanagement.dto.EventDto.EventChangeType;
+import com.opskube.eventmanagement.dto.EventDto.EventChangesResponse;
+import com.opskube.eventmanagement.exception.GoneException;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.services.EventService;
+import com.opskube.eventmanagement.services.EventSyncService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.opskube.eventmanagement.TestApplication.as;
+import static com.opskube.eventmanagement.TestApplication.request;
+import static com.opskube.eventmanagement.TestApplication.runAs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The changes feed merges upserts and tombstones in version order, pages without skipping or
+ * repeating anything, and refuses positions whose tombstones were purged.
+ */
+class EventSyncTests {
+
+    private static ConfigurableApplicationContext context;
+    private static EventService events;
+    private static EventSyncService sync;
+    private static JdbcTemplate jdbcTemplate;
+    private static User organizer;
+
+    @BeforeAll
+    static void start() {
+        // Any tombstone is old enough to purge, but only when a test asks
+        context = TestApplication.start("--app.sync.tombstone-retention=0s");
+        events = context.getBean(EventService.class);
+        sync = context.getBean(EventSyncService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        organizer = TestApplication.createUser(context, "sync_organizer");
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void interleavedWritesComeBackInVersionOrder() {
+        long since = sync.currentVersion();
+        Long a = create("Event A");
+        Long b = create("Event B");
+        Long c = create("Event C");
+        as(organizer, () -> events.updateEvent(a, request("Event A2", "Hall", inDays(2))));
+        runAs(organizer, () -> events.deleteEvent(b));
+        Long d = create("Event D");
+
+        // B's creation is superseded by its tombstone, A's by its update
+        EventChangesResponse response = events.getChanges(since, 100);
+        List<EventChange> changes = response.getChanges();
+        assertEquals(List.of(c, a, b, d), changes.stream().map(EventChange::getEventId).toList());
+        assertEquals(List.of(EventChangeType.UPSERTED, EventChangeType.UPSERTED, EventChangeType.DELETED,
+                EventChangeType.UPSERTED), changes.stream().map(EventChange::getType).toList());
+        assertEquals(List.of(since + 3, since + 4, since + 5, since + 6),
+                changes.stream().map(EventChange::getVersion).toList());
+        assertEquals("Event A2", changes.get(1).getEvent().getName());
+        assertNull(changes.get(2).getEvent());
+        assertEquals(since + 6, response.getVersion());
+        assertFalse(response.isHasMore());
+
+        // Pages split across the merge neither skip nor repeat a change
+        EventChangesResponse first = events.getChanges(since, 2);
+        assertTrue(first.isHasMore());
+        assertEquals(since + 4, first.getVersion());
+        assertEquals(List.of(c, a), first.getChanges().stream().map(EventChange::getEventId).toList());
+        EventChangesResponse second = events.getChanges(first.getVersion(), 2);
+        assertFalse(second.isHasMore());
+        assertEquals(since + 6, second.getVersion());
+        assertEquals(List.of(b, d), second.getChanges().stream().map(EventChange::getEventId).toList());
+
+        // Caught up: nothing more, and the position stays put
+        EventChangesResponse caughtUp = events.getChanges(second.getVersion(), 2);
+        assertEquals(List.of(), caughtUp.getChanges());
+        assertEquals(second.getVersion(), caughtUp.getVersion());
+        assertFalse(caughtUp.isHasMore());
+    }
+
+    @Test
+    void purgedPositionsAreGone() {
+        Long id = create("Purged Event");
+        runAs(organizer, () -> events.deleteEvent(id));
+        long deletedAt = sync.currentVersion();
+        sync.purgeTombstones();
+
+        assertEquals(deletedAt, sync.purgedVersion());
+        assertThrows(GoneException.class, () -> events.getChanges(deletedAt - 1, 100));
+
+        // From the purge on, and from scratch, the feed still answers
+        assertEquals(deletedAt, events.getChanges(deletedAt, 100).getVersion());
+        assertTrue(events.getChanges(0, 1000).getChanges().stream().noneMatch(change -> change.getEventId().equals(id)));
+    }
+
+    @Test
+    void unversionedEventsGetABlockAboveEveryVersion() {
+        long before = sync.currentVersion();
+        Timestamp date = Timestamp.valueOf(LocalDateTime.now().plusDays(3));
+        for (String name : List.of("Seeded One", "Seeded Two")) {
+            jdbcTemplate.update("INSERT INTO events (name, description, date, location, user_id, created_at) "
+                    + "VALUES (?, 'Seeded', ?, 'Hall', ?, ?)", name, date, organizer.getId(), date);
+        }
+        long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM events", Long.class);
+
+        sync.stampUnversionedEvents();
+
+        // Each event's version is the block's base plus its id, all above what was handed out before
+        assertEquals(before + maxId, sync.currentVersion());
+        List<Long> seeded = jdbcTemplate.queryForList(
+                "SELECT change_version - id FROM events WHERE name LIKE 'Seeded%'", Long.class);
+        assertEquals(List.of(before, before), seeded);
+
+        List<EventChange> changes = events.getChanges(before, 100).getChanges();
+        assertEquals(List.of("Seeded One", "Seeded Two"),
+                changes.stream().map(change -> change.getEvent().getName()).toList());
+
+        // Later writes still come after them
+        Long later = create("After Seeding");
+        assertEquals(later, events.getChanges(before + maxId, 100).getChanges().get(0).getEventId());
+    }
+
+    private static Long create(String name) {
+        return as(organizer, () -> events.createEvent(request(name, "Hall", inDays(1)))).getId();
+    }
+
+    private static LocalDateTime inDays(int days) {
+        return LocalDateTime.now().plusDays(days);
+    }
+}
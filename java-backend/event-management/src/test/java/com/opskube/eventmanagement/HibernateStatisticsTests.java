@@ -0,0 +1,32 @@
+package com.opskube.eventmanagement;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hibernate statistics count every statement, load and cache access in every session, so they are
+ * off unless asked for.
+ */
+class HibernateStatisticsTests {
+
+    @Test
+    void statisticsAreOptIn() {
+        try (ConfigurableApplicationContext context = TestApplication.start()) {
+            assertFalse(statistics(context));
+        }
+        try (ConfigurableApplicationContext context =
+                     TestApplication.start("--spring.jpa.properties.hibernate.generate_statistics=true")) {
+            assertTrue(statistics(context));
+        }
+    }
+
+    private static boolean statistics(ConfigurableApplicationContext context) {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                .getStatistics().isStatisticsEnabled();
+    }
+}
@@ -0,0 +1,208 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.config.IdempotencyProperties;
+import com.opskube.eventmanagement.exception.ApiException;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.repository.EventRepository;
+import com.opskube.eventmanagement.services.IdempotencyStore;
+import com.opskube.eventmanagement.services.IdempotencyStore.Entry;
+import com.opskube.eventmanagement.services.InMemoryIdempotencyStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Retried POSTs run once whichever store holds the keys, and neither store lets a retry run
+ * alongside the original.
+ */
+class IdempotencyTests {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    private static final Map<String, ConfigurableApplicationContext> contexts = new HashMap<>();
+    private static final Map<String, MockMvc> mockMvcs = new HashMap<>();
+    private static final Map<String, User> users = new HashMap<>();
+
+    @BeforeAll
+    static void start() {
+        for (String store : List.of("memory", "database")) {
+            ConfigurableApplicationContext context = TestApplication.startWeb("--app.idempotency.store=" + store);
+            contexts.put(store, context);
+            mockMvcs.put(store, TestApplication.mockMvc(context));
+            users.put(store, TestApplication.createUser(context, "idempotent_" + store));
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        contexts.values().forEach(ConfigurableApplicationContext::close);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "database"})
+    void retriesReplayTheFirstResponse(String store) throws Exception {
+        long before = events(store);
+        MockHttpServletResponse first = createEvent(store, "replay-key", "Replayed Talk");
+        MockHttpServletResponse retry = createEvent(store, "replay-key", "Replayed Talk");
+
+        assertEquals(201, first.getStatus());
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader("Idempotent-Replayed"));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(before + 1, events(store));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "database"})
+    void aKeyReusedForAnotherRequestIsRejected(String store) throws Exception {
+        assertEquals(201, createEvent(store, "reused-key", "First Request").getStatus());
+
+        MockHttpServletResponse other = createEvent(store, "reused-key", "Second Request");
+        assertEquals(422, other.getStatus());
+        assertTrue(other.getContentAsString().contains("Idempotency-Key was already used for a different request"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "database"})
+    void concurrentDuplicatesRunOnce(String store) throws Exception {
+        long before = events(store);
+        List<MockHttpServletResponse> responses = concurrently(() -> createEvent(store, "concurrent-key", "Concurrent Talk"));
+
+        Set<String> bodies = new HashSet<>();
+        for (MockHttpServletResponse response : responses) {
+            assertEquals(201, response.getStatus());
+            bodies.add(response.getContentAsString());
+        }
+        assertEquals(1, bodies.size());
+        assertEquals(before + 1, events(store));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "database"})
+    void storesGrantEachClaimOnce(String store) throws Exception {
+        IdempotencyStore idempotencyStore = contexts.get(store).getBean(IdempotencyStore.class);
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+
+        List<Optional<Entry>> claims = concurrently(() -> idempotencyStore.claim("user:claimed", "fingerprint", expiresAt));
+        assertEquals(1, claims.stream().filter(Optional::isEmpty).count());
+        claims.stream().flatMap(Optional::stream).forEach(entry -> assertFalse(entry.isCompleted()));
+
+        // Completed, then released for a retry
+        Entry response = new Entry("fingerprint", 201, MediaType.APPLICATION_JSON_VALUE, "{}".getBytes(), expiresAt);
+        idempotencyStore.complete("user:claimed", response);
+        assertEquals(201, idempotencyStore.claim("user:claimed", "fingerprint", expiresAt).orElseThrow().status());
+        idempotencyStore.release("user:claimed");
+        assertTrue(idempotencyStore.claim("user:claimed", "fingerprint", expiresAt).isEmpty());
+
+        // An expired key can be claimed again
+        idempotencyStore.claim("user:expired", "fingerprint", LocalDateTime.now().minusSeconds(1));
+        assertTrue(idempotencyStore.claim("user:expired", "fingerprint", expiresAt).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "database"})
+    void oversizedBodiesAreRefusedBeforeBuffering(String store) throws Exception {
+        long before = events(store);
+        int maxBodyBytes = contexts.get(store).getBean(IdempotencyProperties.class).getMaxBodyBytes();
+        MockHttpServletResponse response = createEvent(store, "large-key", "x".repeat(maxBodyBytes));
+
+        assertEquals(413, response.getStatus());
+        assertTrue(response.getContentAsString().contains("at most " + maxBodyBytes + " bytes"));
+        assertEquals(before, events(store));
+
+        // The key was never claimed, so a request that fits can still use it
+        assertEquals(201, createEvent(store, "large-key", "Small Talk").getStatus());
+    }
+
+    @Test
+    void theMemoryStoreNeverEvictsClaimsInProgress() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxEntries(2);
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(properties);
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+
+        assertTrue(store.claim("a", "fingerprint", expiresAt).isEmpty());
+        assertTrue(store.claim("b", "fingerprint", expiresAt).isEmpty());
+        ApiException full = assertThrows(ApiException.class, () -> store.claim("c", "fingerprint", expiresAt));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, full.getStatus());
+
+        // A completed entry makes room, even though it is newer than the claim still in progress
+        store.complete("b", new Entry("fingerprint", 201, null, null, expiresAt));
+        assertTrue(store.claim("c", "fingerprint", expiresAt).isEmpty());
+        assertFalse(store.claim("a", "fingerprint", expiresAt).orElseThrow().isCompleted());
+        assertThrows(ApiException.class, () -> store.claim("b", "fingerprint", expiresAt));
+    }
+
+    private static MockHttpServletResponse createEvent(String store, String key, String name) throws Exception {
+        String date = LocalDateTime.now().plusDays(7).format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm"));
+        String body = "{\"name\":\"" + name + "\",\"description\":\"A talk\",\"date\":\"" + date
+                + "\",\"location\":\"Room 1\"}";
+        MockHttpServletResponse response = mockMvcs.get(store).perform(post("/events")
+                        .with(user(users.get(store).getEmail()))
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn()
+                .getResponse();
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        return response;
+    }
+
+    private static long events(String store) {
+        return contexts.get(store).getBean(EventRepository.class).count();
+    }
+
+    // Runs the call on several threads released at once
+    private static <T> List<T> concurrently(Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.security.CustomUserDetailsService;
+import com.opskube.eventmanagement.security.JwtUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Actuator endpoints are served on the management port only, over real sockets since the two ports
+ * are separate servers.
+ */
+class ManagementPortTests {
+
+    private static ConfigurableApplicationContext context;
+    private static HttpClient client;
+    private static String baseUrl;
+    private static String managementUrl;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.startWeb();
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        managementUrl = "http://localhost:" + context.getEnvironment().getProperty("local.management.port");
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void prometheusIsScrapedFromTheManagementPort() throws Exception {
+        HttpResponse<String> metrics = send(HttpRequest.newBuilder(URI.create(managementUrl + "/metrics")));
+        assertEquals(200, metrics.statusCode());
+        assertTrue(metrics.body().contains("db_connection_acquire_seconds"), "Connection metrics missing");
+
+        assertEquals(403, send(HttpRequest.newBuilder(URI.create(baseUrl + "/metrics"))).statusCode());
+    }
+
+    @Test
+    void publicResponsesCarryNoDatabaseTimings() throws Exception {
+        HttpResponse<String> events = send(HttpRequest.newBuilder(URI.create(baseUrl + "/events")));
+        assertEquals(200, events.statusCode());
+        assertTrue(events.headers().firstValue("Server-Timing").isEmpty());
+    }
+
+    @Test
+    void queryStatisticsAreNotOpenToRegisteredUsers() throws Exception {
+        // Anyone can sign up, so a valid token is no reason to hand out the statement fingerprints
+        User user = TestApplication.createUser(context, "management_user");
+        String token = context.getBean(JwtUtil.class).generateToken(
+                context.getBean(CustomUserDetailsService.class).loadUserByUsername(user.getEmail()));
+        HttpRequest.Builder publicQueries = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/queries"))
+                .header("Authorization", "Bearer " + token);
+        assertEquals(403, send(publicQueries.copy()).statusCode());
+        assertEquals(403, send(publicQueries.copy().DELETE()).statusCode());
+
+        HttpResponse<String> queries = send(HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/queries")));
+        assertEquals(200, queries.statusCode());
+        assertTrue(queries.body().contains("\"fingerprints\""), queries::body);
+        assertEquals(204, send(HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/queries")).DELETE()).statusCode());
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
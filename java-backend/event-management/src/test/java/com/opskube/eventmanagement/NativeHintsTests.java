@@ -0,0 +1,52 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.config.NativeHintsConfig;
+import com.opskube.eventmanagement.dto.AuthDto;
+import com.opskube.eventmanagement.dto.RsvpDto;
+import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.model.Rsvp;
+import com.opskube.eventmanagement.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsTests() {
+        new NativeHintsConfig.Hints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersEntitiesAndDtosIncludingNestedTypes() {
+        for (Class<?> type : new Class<?>[]{Event.class, User.class, Rsvp.class, Rsvp.RsvpStatus.class,
+                AuthDto.LoginRequest.class, RsvpDto.RsvpResponse.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), type::getName);
+        }
+    }
+
+    @Test
+    void registersReflectivelyLoadedLibraries() {
+        for (String type : new String[]{"io.jsonwebtoken.impl.DefaultJwtBuilder", "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer", "org.postgresql.Driver", "org.h2.Driver"}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type)).test(hints), type);
+        }
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("ehcache.xml").test(hints));
+    }
+
+    @Test
+    void registersDataSourceProxies() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(PreparedStatement.class).test(hints));
+    }
+}
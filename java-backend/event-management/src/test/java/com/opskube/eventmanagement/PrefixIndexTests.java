@@ -0,0 +1,102 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.util.PrefixIndex;
+import com.opskube.eventmanagement.util.PrefixIndex.Hit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTests {
+
+    private static final byte EVENT = 0;
+
+    @Test
+    void matchesThePrefixOfAnyWord() {
+        PrefixIndex index = PrefixIndex.builder()
+                .add("Tech Conference", EVENT, 1, 0, 1)
+                .add("Jazz Night", EVENT, 2, 0, 1)
+                .add("Conflict Resolution Workshop", EVENT, 3, 0, 1)
+                .build();
+
+        assertEquals(List.of(1L, 3L), refs(index.search("conf", 10, null)));
+        assertEquals(List.of(2L), refs(index.search("night", 10, null)));
+        assertEquals(List.of(1L), refs(index.search("tech conf", 10, null)));
+        assertEquals(List.of(), refs(index.search("ference", 10, null)));
+        assertEquals(List.of(), refs(index.search("", 10, null)));
+    }
+
+    @Test
+    void normalizesCaseAndWhitespaceButKeepsTheDisplayText() {
+        PrefixIndex index = PrefixIndex.builder()
+                .add("  Berlin   JAVA\tMeetup ", EVENT, 1, 0, 1)
+                .build();
+
+        assertEquals("berlin java meetup", PrefixIndex.normalize("  Berlin   JAVA\tMeetup "));
+        List<Hit> hits = index.search(PrefixIndex.normalize("JAVA  me"), 10, null);
+        assertEquals(1, hits.size());
+        assertEquals("Berlin   JAVA\tMeetup", hits.get(0).text());
+    }
+
+    @Test
+    void ranksByWeightAndKeepsOnlyTheBest() {
+        PrefixIndex.Builder builder = PrefixIndex.builder();
+        for (int i = 0; i < 500; i++) {
+            builder.add("Meetup " + i, EVENT, i, i, i);
+        }
+        PrefixIndex index = builder.build();
+
+        assertEquals(List.of(499L, 498L, 497L), refs(index.search("meetup", 3, null)));
+        assertEquals(List.of(499L, 497L, 496L), refs(index.search("meetup", 3, ref -> ref == 498)));
+        assertEquals(List.of(499L, 498L, 497L, 496L, 495L, 494L, 493L, 492L, 491L, 490L, 49L),
+                refs(index.search("meetup 49", 11, null)));
+    }
+
+    @Test
+    void indexesOnlyTheFirstWordsOfLongTexts() {
+        PrefixIndex index = PrefixIndex.builder()
+                .add("one two three four five six seven eight nine ten", EVENT, 1, 0, 1)
+                .build();
+
+        assertEquals(List.of(1L), refs(index.search("eight", 10, null)));
+        assertEquals(List.of(), refs(index.search("nine", 10, null)));
+
+        // The same rule applies to texts checked outside the index
+        assertTrue(PrefixIndex.matchesWord("one two three four five six seven eight nine ten", "eig"));
+        assertFalse(PrefixIndex.matchesWord("one two three four five six seven eight nine ten", "nin"));
+        assertFalse(PrefixIndex.matchesWord("tech conference", "ference"));
+    }
+
+    @Test
+    void keepsCountsAndGroupsByRef() {
+        PrefixIndex index = PrefixIndex.builder()
+                .add("Tech Conference", EVENT, 10, 42, 1, 3)
+                .add("Jazz Night", EVENT, 7, 5, 1)
+                .build();
+
+        assertEquals(42, index.countOf(10));
+        assertEquals(3, index.groupOf(10));
+        assertEquals(-1, index.groupOf(7));
+        assertEquals(-1, index.countOf(8));
+        assertEquals(2, index.size());
+        assertEquals(4, index.entryCount());
+    }
+
+    @Test
+    void aRebuiltIndexReflectsOnlyWhatWasAdded() {
+        PrefixIndex before = PrefixIndex.builder().add("Old Name", EVENT, 1, 0, 1).build();
+        PrefixIndex after = PrefixIndex.builder().add("New Name", EVENT, 1, 0, 1).build();
+
+        assertEquals(List.of(1L), refs(before.search("old", 10, null)));
+        assertEquals(List.of(), refs(after.search("old", 10, null)));
+        assertEquals(List.of(1L), refs(after.search("name", 10, null)));
+        assertEquals(0, PrefixIndex.empty().search("name", 10, null).size());
+    }
+
+    private static List<Long> refs(List<Hit> hits) {
+        return hits.stream().map(Hit::ref).toList();
+    }
+}
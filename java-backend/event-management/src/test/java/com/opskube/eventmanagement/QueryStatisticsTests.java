@@ -0,0 +1,52 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.util.QueryStatistics;
+import com.opskube.eventmanagement.util.SqlFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryStatisticsTests {
+
+    @Test
+    void fingerprintsIgnoreLiteralsAndInListLength() {
+        String expected = "select * from events where id in (?) and name=? and col_2=?";
+        assertEquals(expected, SqlFingerprint.of("select *  from events\n where id in (1, 2, 3) and name='a''b' and col_2=42"));
+        assertEquals(expected, SqlFingerprint.of("select * from events where id in (?,?) and name=? and col_2=-7.5"));
+    }
+
+    @Test
+    void tracksPercentilesAndBoundsFingerprints() {
+        QueryStatistics statistics = new QueryStatistics(2);
+        for (int i = 1; i <= 100; i++) {
+            statistics.record("select a", i * 1_000_000L);
+        }
+        statistics.record("select b", 1_000_000L);
+        statistics.record("select c", 1_000_000L);
+        statistics.record("select d", 1_000_000L);
+
+        List<QueryStatistics.Summary> top = statistics.top(10, Comparator.comparingLong(QueryStatistics.Summary::count));
+        assertEquals(List.of("select a", QueryStatistics.OTHER, "select b"),
+                top.stream().map(QueryStatistics.Summary::fingerprint).toList());
+
+        QueryStatistics.Summary a = top.get(0);
+        assertEquals(5050, a.totalMs(), 0.001);
+        assertEquals(100, a.maxMs(), 0.001);
+        // Buckets are a quarter of a power of two wide, so within 12.5%
+        assertTrue(Math.abs(a.p50Ms() - 50) <= 50 * 0.125, "p50 " + a.p50Ms());
+        assertTrue(Math.abs(a.p99Ms() - 99) <= 99 * 0.125, "p99 " + a.p99Ms());
+    }
+
+    @Test
+    void slowQueryLoggingIsRateLimitedPerFingerprint() {
+        QueryStatistics.Entry entry = new QueryStatistics(10).record("select a", 0);
+        assertEquals(0, entry.tryLog(0, 100));
+        assertEquals(-1, entry.tryLog(50, 100));
+        assertEquals(-1, entry.tryLog(99, 100));
+        assertEquals(2, entry.tryLog(100, 100));
+    }
+}
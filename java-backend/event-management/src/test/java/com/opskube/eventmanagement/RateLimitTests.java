@@ -0,0 +1,65 @@
+package com.opskube.eventmanagement;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Anonymous callers are told apart by the address the proxy in front reports, over a real socket
+ * since Tomcat resolves it before the application sees the request.
+ */
+class RateLimitTests {
+
+    private static ConfigurableApplicationContext context;
+    private static HttpClient client;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.startWeb("--app.rate-limit.rules.login.capacity=2");
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void clientsBehindAProxyGetABucketEach() throws Exception {
+        assertNotEquals(429, login("203.0.113.10"));
+        assertNotEquals(429, login("203.0.113.10"));
+        assertEquals(429, login("203.0.113.10"));
+
+        // Another client through the same proxy is not held back by the first one
+        assertNotEquals(429, login("198.51.100.20"));
+        assertNotEquals(429, login("192.0.2.30, 10.0.0.5"));
+    }
+
+    @Test
+    void directCallersAreKeyedByTheirOwnAddress() throws Exception {
+        assertNotEquals(429, login(null));
+        assertNotEquals(429, login(null));
+        assertEquals(429, login(null));
+    }
+
+    private static int login(String forwardedFor) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nobody@example.com\",\"password\":\"wrong-password\"}"));
+        if (forwardedFor != null) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,184 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.exception.ApiException;
+import com.opskube.eventmanagement.exception.ResourceNotFoundException;
+import com.opskube.eventmanagement.util.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTests {
+
+    private static final int WAITERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<String>> results = startCallers(flight, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "value";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(WAITERS, registry.counter("singleflight.coalesced", "name", "test").count());
+
+        // Nothing is kept afterwards
+        assertEquals("again", flight.execute("key", () -> "again"));
+    }
+
+    @Test
+    void eachWaiterGetsItsOwnExceptionWithTheStatusKept() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        ResourceNotFoundException failure = new ResourceNotFoundException("Event", "id", 7);
+
+        List<Future<String>> results = startCallers(flight, () -> {
+            await(release);
+            throw failure;
+        });
+        release.countDown();
+
+        Set<Throwable> thrown = new HashSet<>();
+        for (Future<String> result : results) {
+            thrown.add(failure(result));
+        }
+        assertTrue(thrown.remove(failure), "the leader rethrows its own exception");
+        assertEquals(WAITERS, thrown.size());
+        for (Throwable waiterFailure : thrown) {
+            ApiException apiException = assertInstanceOf(ApiException.class, waiterFailure);
+            assertEquals(HttpStatus.NOT_FOUND, apiException.getStatus());
+            assertEquals(failure.getMessage(), apiException.getMessage());
+            assertSame(failure, apiException.getCause());
+        }
+    }
+
+    @Test
+    void otherFailuresAreWrappedForEachWaiter() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        List<Future<String>> results = startCallers(flight, () -> {
+            await(release);
+            throw failure;
+        });
+        release.countDown();
+
+        List<Throwable> waiterFailures = new ArrayList<>();
+        for (Future<String> result : results) {
+            Throwable thrown = failure(result);
+            if (thrown != failure) {
+                waiterFailures.add(thrown);
+            }
+        }
+        assertEquals(WAITERS, waiterFailures.size());
+        for (Throwable waiterFailure : waiterFailures) {
+            assertInstanceOf(SingleFlight.LoadFailedException.class, waiterFailure);
+            assertSame(failure, waiterFailure.getCause());
+            assertEquals(0, waiterFailure.getSuppressed().length);
+        }
+        assertNotSame(waiterFailures.get(0), waiterFailures.get(1));
+    }
+
+    @Test
+    void waitersGiveUpAfterTheTimeoutAndLoadThemselves() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), registry);
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> flight.execute("key", () -> {
+            leading.countDown();
+            await(release);
+            return "slow";
+        }));
+        assertTrue(leading.await(5, TimeUnit.SECONDS));
+
+        // The leader is stuck, so the waiter runs its own load
+        assertEquals("own", flight.execute("key", () -> "own"));
+        assertEquals(1, registry.counter("singleflight.timeouts", "name", "test").count());
+
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    // Starts a leader running the loader, then callers that join its load
+    private List<Future<String>> startCallers(SingleFlight<String, String> flight, Supplier<String> loader)
+            throws InterruptedException {
+        CountDownLatch leading = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.execute("key", () -> {
+            leading.countDown();
+            return loader.get();
+        })));
+        assertTrue(leading.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> flight.execute("key", () -> {
+                throw new AssertionError("only the leader loads");
+            })));
+        }
+        awaitCoalesced(WAITERS);
+        return results;
+    }
+
+    private void awaitCoalesced(int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.counter("singleflight.coalesced", "name", "test").count() < waiters) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the load");
+            Thread.sleep(1);
+        }
+    }
+
+    private static Throwable failure(Future<String> result) throws Exception {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            throw new AssertionError("expected the load to fail");
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
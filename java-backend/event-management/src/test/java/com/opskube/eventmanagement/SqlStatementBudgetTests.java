@@ -0,0 +1,126 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.dto.RsvpDto.RsvpRequest;
+import com.opskube.eventmanagement.filter.SqlAccountingFilter;
+import com.opskube.eventmanagement.model.Rsvp;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.security.CustomUserDetailsService;
+import com.opskube.eventmanagement.security.JwtUtil;
+import com.opskube.eventmanagement.services.EventService;
+import com.opskube.eventmanagement.services.RsvpService;
+import com.opskube.eventmanagement.util.SqlAccounting;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.opskube.eventmanagement.TestApplication.as;
+import static com.opskube.eventmanagement.TestApplication.request;
+import static com.opskube.eventmanagement.TestApplication.runAs;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each endpoint runs with cold caches, including token
+ * validation. Repeated statement templates fail the request ({@code fail-on-repeat}), so an N+1
+ * shows up here rather than in production.
+ */
+class SqlStatementBudgetTests {
+
+    private static final int ATTENDEES = 8;
+
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+    private static String organizerToken;
+    private static String attendeeToken;
+    private static Long eventId;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.startWeb("--app.sql-accounting.fail-on-repeat=true", "--app.sql-accounting.server-timing=true",
+                "--app.upcoming.enabled=false", "--app.page-cache.enabled=false");
+        mockMvc = TestApplication.mockMvc(context, context.getBean(SqlAccountingFilter.class));
+
+        // One event with a handful of attendees, set up through the services
+        User organizer = TestApplication.createUser(context, "organizer");
+        List<User> attendees = new ArrayList<>();
+        for (int i = 0; i < ATTENDEES; i++) {
+            attendees.add(TestApplication.createUser(context, "attendee" + i));
+        }
+        eventId = as(organizer, () -> context.getBean(EventService.class)
+                .createEvent(request("Budget meetup", "Test location", LocalDateTime.now().plusDays(7))).getId());
+        for (User attendee : attendees) {
+            runAs(attendee, () -> context.getBean(RsvpService.class)
+                    .createOrUpdateRsvp(eventId, new RsvpRequest(Rsvp.RsvpStatus.ATTENDING)));
+        }
+
+        organizerToken = token(organizer);
+        attendeeToken = token(attendees.get(0));
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void anonymousListing() throws Exception {
+        assertBudget(get("/events").param("page", "0").param("limit", "10"), 2);
+    }
+
+    @Test
+    void eventDetail() throws Exception {
+        assertBudget(get("/events/" + eventId), 2);
+    }
+
+    @Test
+    void serverTimingReportsTheStatements() throws Exception {
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        mockMvc.perform(get("/events/" + eventId))
+                .andExpect(header().string("Server-Timing", containsString("desc=\"2 statements\"")));
+    }
+
+    @Test
+    void eventRsvps() throws Exception {
+        assertBudget(get("/events/" + eventId + "/rsvp").header("Authorization", "Bearer " + organizerToken), 3);
+    }
+
+    @Test
+    void organizerDashboard() throws Exception {
+        assertBudget(get("/events/my-events").header("Authorization", "Bearer " + organizerToken), 2);
+        assertBudget(get("/events/attending").header("Authorization", "Bearer " + organizerToken), 3);
+    }
+
+    @Test
+    void rsvp() throws Exception {
+        assertBudget(post("/events/" + eventId + "/rsvp")
+                .header("Authorization", "Bearer " + attendeeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"MAYBE\"}"), 4);
+    }
+
+    // Runs the request against cold caches and checks the statements it ran, which must succeed
+    private static void assertBudget(RequestBuilder request, int maxStatements) throws Exception {
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        try (SqlAccounting.Recording sql = SqlAccounting.start()) {
+            mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+            sql.assertStatementsAtMost(maxStatements);
+        }
+    }
+
+    private static String token(User user) {
+        return context.getBean(JwtUtil.class).generateToken(
+                context.getBean(CustomUserDetailsService.class).loadUserByUsername(user.getEmail()));
+    }
+}
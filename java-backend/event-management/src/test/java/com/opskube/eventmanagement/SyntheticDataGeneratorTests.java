@@ -0,0 +1,66 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.config.DataGeneratorProperties;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.util.SyntheticDataGenerator;
+import com.opskube.eventmanagement.util.SyntheticDataGenerator.Summary;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDataGeneratorTests {
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void generatesSkewedDataAndContinuesAfterExistingRows() throws Exception {
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setUsers(500);
+        properties.setEvents(2000);
+        properties.setRsvpsPerEvent(5);
+        properties.setBatchSize(300);
+        properties.setThreads(2);
+
+        Summary first = new SyntheticDataGenerator(context.getBean(DataSource.class), properties).generate();
+        Summary second = new SyntheticDataGenerator(context.getBean(DataSource.class), properties).generate();
+
+        assertEquals(1000, count("SELECT COUNT(*) FROM users"));
+        assertEquals(4000, count("SELECT COUNT(*) FROM events"));
+        assertEquals(first.rsvps() + second.rsvps(), count("SELECT COUNT(*) FROM rsvps"));
+        assertEquals(4000, count("SELECT MAX(last_value) FROM change_counters WHERE name = 'event-version'"));
+
+        // The most popular 1% of events draws a large share of the RSVPs
+        List<Long> perEvent = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM rsvps GROUP BY event_id ORDER BY COUNT(*) DESC", Long.class);
+        long top = perEvent.stream().limit(40).mapToLong(Long::longValue).sum();
+        assertTrue(top > 0.3 * (first.rsvps() + second.rsvps()), "Top events hold " + top + " RSVPs");
+
+        // Identities were moved past the generated ids
+        User user = TestApplication.createUser(context, "after");
+        assertEquals(1001, user.getId());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
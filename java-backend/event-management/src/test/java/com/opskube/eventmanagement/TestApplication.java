@@ -0,0 +1,111 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.dto.EventDto.EventRequest;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.repository.UserRepository;
+import jakarta.servlet.Filter;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+/**
+ * Starts the application on its own in-memory H2 database, without a web server for tests that
+ * call the services directly, or with one on a random port for tests that go through MockMvc. The
+ * actuator gets a random port of its own as well.
+ */
+final class TestApplication {
+
+    private TestApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        return start(WebApplicationType.NONE, extraArgs);
+    }
+
+    static ConfigurableApplicationContext startWeb(String... extraArgs) {
+        List<String> args = new ArrayList<>(Arrays.asList(extraArgs));
+        args.add("--server.port=0");
+        args.add("--management.server.port=0");
+        return start(WebApplicationType.SERVLET, args.toArray(String[]::new));
+    }
+
+    // MockMvc with Spring Security and the given servlet filters in front of it
+    static MockMvc mockMvc(ConfigurableApplicationContext context, Filter... filters) {
+        return MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .addFilters(filters)
+                .build();
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.jpa.properties.hibernate.cache.region_prefix=" + UUID.randomUUID(),
+                "--spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false"));
+        // Extra arguments replace the defaults of the same name, such as a database shared between runs
+        args.removeIf(arg -> Arrays.stream(extraArgs).anyMatch(extra -> name(extra).equals(name(arg))));
+        args.addAll(Arrays.asList(extraArgs));
+        return new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(type)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static String name(String arg) {
+        int equals = arg.indexOf('=');
+        return equals < 0 ? arg : arg.substring(0, equals);
+    }
+
+    static User createUser(ConfigurableApplicationContext context, String username) {
+        return context.getBean(UserRepository.class).save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("not-a-real-hash")
+                .build());
+    }
+
+    static EventRequest request(String name, String location, LocalDateTime date) {
+        return EventRequest.builder()
+                .name(name)
+                .description(name + " description")
+                .date(date)
+                .location(location)
+                .build();
+    }
+
+    // Runs the action signed in as the given user
+    static <T> T as(User user, Supplier<T> action) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    static void runAs(User user, Runnable action) {
+        as(user, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.opskube.eventmanagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.services.EventPageCache;
+import com.opskube.eventmanagement.util.WarmupSnapshot;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code /health} holds traffic back while the application warms up and lets it through once
+ * warm-up finishes or runs out of budget, whichever comes first.
+ */
+class WarmupReadinessTests {
+
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void notReadyWhileWarmingUpThenReadyAtTheBudget() throws Exception {
+        // More passes than the budget allows, so warm-up is still running when the test looks
+        try (ConfigurableApplicationContext context = TestApplication.startWeb(
+                "--app.warmup.iterations=100000000", "--app.warmup.budget=5s")) {
+            HttpResponse<String> health = health(context);
+            assertEquals(503, health.statusCode());
+            assertEquals("WARMING_UP", objectMapper.readTree(health.body()).get("status").asText());
+            assertEquals("OUT_OF_SERVICE", status(management(context, "/actuator/health")));
+
+            awaitReady(context);
+            assertEquals("UP", status(management(context, "/actuator/health")));
+        }
+    }
+
+    @Test
+    void aTinyBudgetStillEndsReady() throws Exception {
+        try (ConfigurableApplicationContext context = TestApplication.startWeb(
+                "--app.warmup.iterations=100000000", "--app.warmup.budget=1ms")) {
+            awaitReady(context);
+        }
+    }
+
+    @Test
+    void preloadsTheEventsInTheSnapshot() throws Exception {
+        // Past events are never among the upcoming ones warm-up would otherwise choose
+        String database = "--spring.datasource.url=jdbc:h2:mem:warmup-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+        long snapshotEvent;
+        long otherEvent;
+        try (ConfigurableApplicationContext context = TestApplication.start(database)) {
+            User organizer = TestApplication.createUser(context, "warmup_organizer");
+            snapshotEvent = pastEvent(context, organizer, "In the snapshot");
+            otherEvent = pastEvent(context, organizer, "Not in the snapshot");
+        }
+        Path file = dir.resolve("warmup.bin");
+        // Only the upcoming page, which lists neither event
+        new WarmupSnapshot(List.of(snapshotEvent), List.of(), List.of(EventPageCache.key(0, 10, null, true)))
+                .write(file);
+
+        try (ConfigurableApplicationContext context = TestApplication.startWeb(database,
+                "--app.warmup.snapshot-file=" + file, "--app.warmup.iterations=3")) {
+            awaitReady(context);
+
+            jakarta.persistence.Cache cache = context.getBean(EntityManagerFactory.class).getCache();
+            assertTrue(cache.contains(Event.class, snapshotEvent));
+            assertFalse(cache.contains(Event.class, otherEvent));
+        }
+    }
+
+    private void awaitReady(ConfigurableApplicationContext context) throws Exception {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (health(context).statusCode() != 200) {
+            assertTrue(System.nanoTime() < deadline, "warm-up did not finish");
+            Thread.sleep(20);
+        }
+        assertEquals("UP", objectMapper.readTree(health(context).body()).get("status").asText());
+    }
+
+    private HttpResponse<String> health(ConfigurableApplicationContext context) throws Exception {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        return send("http://localhost:" + port + "/api/health");
+    }
+
+    private HttpResponse<String> management(ConfigurableApplicationContext context, String path) throws Exception {
+        return send("http://localhost:" + context.getEnvironment().getProperty("local.management.port") + path);
+    }
+
+    private HttpResponse<String> send(String uri) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(uri)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String status(HttpResponse<String> response) throws Exception {
+        return objectMapper.readTree(response.body()).get("status").asText();
+    }
+
+    private static long pastEvent(ConfigurableApplicationContext context, User organizer, String name) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp date = Timestamp.valueOf(LocalDateTime.now().minusDays(3));
+        jdbcTemplate.update("INSERT INTO events (name, description, date, location, user_id, created_at) "
+                + "VALUES (?, 'Past', ?, 'Hall', ?, ?)", name, date, organizer.getId(), date);
+        return jdbcTemplate.queryForObject("SELECT id FROM events WHERE name = ?", Long.class, name);
+    }
+}
@@ -0,0 +1,53 @@
+package com.opskube.eventmanagement;
+
+import com.opskube.eventmanagement.services.EventPageCache;
+import com.opskube.eventmanagement.util.WarmupSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WarmupSnapshotTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsSortedDistinctIdsAndPageKeys() throws IOException {
+        Path file = dir.resolve("nested/warmup.bin");
+        List<String> pageKeys = List.of(
+                EventPageCache.key(0, 10, null, true),
+                EventPageCache.key(3, 20, LocalDateTime.of(2026, 5, 1, 18, 30), false));
+
+        new WarmupSnapshot(List.of(900_000L, 3L, 70L, 3L), List.of(), pageKeys).write(file);
+        WarmupSnapshot read = WarmupSnapshot.read(file);
+
+        assertEquals(List.of(3L, 70L, 900_000L), read.eventIds());
+        assertEquals(List.of(), read.userIds());
+        assertEquals(pageKeys, read.pageKeys());
+        assertFalse(Files.exists(dir.resolve("nested/warmup.bin.tmp")));
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 0, 0, 0, 1});
+
+        assertThrows(IOException.class, () -> WarmupSnapshot.read(file));
+    }
+
+    @Test
+    void pageKeysTurnBackIntoTheQueryTheyCameFrom() {
+        String key = EventPageCache.key(2, 10, LocalDateTime.of(2026, 5, 1, 18, 30), true);
+
+        assertEquals("page=2&limit=10&upcoming=true&date=2026-05-01T18%3A30", EventPageCache.queryString(key));
+    }
+}
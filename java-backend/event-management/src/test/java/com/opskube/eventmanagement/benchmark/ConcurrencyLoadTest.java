@@ -0,0 +1,114 @@
+package com.opskube.eventmanagement.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-model load test against a running server: each simulated client sends its next request
+ * as soon as the previous one completes. Prints throughput and latency percentiles for each
+ * client count, e.g. to compare platform and virtual request threads.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.opskube.eventmanagement.benchmark.ConcurrencyLoadTest \
+ *     -Dexec.args="--url=http://localhost:5000/api/events?upcoming=true --clients=1000,10000 --duration=30"
+ * </pre>
+ */
+public final class ConcurrencyLoadTest {
+
+    private ConcurrencyLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:5000/api/events?upcoming=true"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        System.out.printf("%-8s %12s %10s %10s %10s %10s %8s%n",
+                "clients", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (String clients : options.getOrDefault("clients", "1000,10000").split(",")) {
+            run(client, request, Integer.parseInt(clients.trim()), warmup, duration);
+        }
+    }
+
+    private static void run(HttpClient client, HttpRequest request, int clients, Duration warmup, Duration duration)
+            throws InterruptedException {
+        Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+        AtomicLong errors = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch finished = new CountDownLatch(clients);
+
+        for (int i = 0; i < clients; i++) {
+            send(client, request, recorder, errors, running, finished);
+        }
+
+        // Discard the warm-up, then measure
+        Thread.sleep(warmup.toMillis());
+        recorder.reset();
+        errors.set(0);
+        long started = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        Histogram histogram = recorder.getIntervalHistogram();
+        long errorCount = errors.get();
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        running.set(false);
+        finished.await(2, TimeUnit.MINUTES);
+
+        System.out.printf("%-8d %12.0f %10.1f %10.1f %10.1f %10.1f %8d%n", clients,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                errorCount);
+    }
+
+    // One simulated client: record the response, then send again until stopped
+    private static void send(HttpClient client, HttpRequest request, Recorder recorder, AtomicLong errors,
+                             AtomicBoolean running, CountDownLatch finished) {
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure != null || response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            } else {
+                recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent),
+                        TimeUnit.MINUTES.toMicros(1)));
+            }
+            if (running.get()) {
+                send(client, request, recorder, errors, running, finished);
+            } else {
+                finished.countDown();
+            }
+        });
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
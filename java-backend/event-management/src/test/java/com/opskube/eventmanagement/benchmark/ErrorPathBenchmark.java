@@ -0,0 +1,77 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.opskube.eventmanagement.controller.EventController;
+import com.opskube.eventmanagement.dto.EventDto.EventRequest;
+import com.opskube.eventmanagement.exception.GlobalExceptionHandler;
+import com.opskube.eventmanagement.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The error responses most often returned: an unknown event, a request failing validation and an
+ * unexpected exception. Each run creates the exception, as the application does, so the cost of
+ * filling in its stack trace is included, then renders the error body to JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+    private MethodParameter createEventBody;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        request = new MockHttpServletRequest("POST", "/api/events");
+        createEventBody = new MethodParameter(EventController.class.getMethod("createEvent", EventRequest.class), 0);
+    }
+
+    @Benchmark
+    public byte[] notFound() throws IOException {
+        return objectMapper.writeValueAsBytes(handler.handleApiException(
+                new ResourceNotFoundException("Event", "id", 42L), request).getBody());
+    }
+
+    @Benchmark
+    public byte[] validationFailed() throws IOException {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(new EventRequest(), "eventRequest");
+        result.addError(new FieldError("eventRequest", "name", "Event name is required"));
+        result.addError(new FieldError("eventRequest", "date", "Event date must be in the future"));
+        return objectMapper.writeValueAsBytes(handler.handleValidationExceptions(
+                new MethodArgumentNotValidException(createEventBody, result), request).getBody());
+    }
+
+    @Benchmark
+    public byte[] unexpected() throws IOException {
+        return objectMapper.writeValueAsBytes(handler.handleGenericException(
+                new IllegalStateException("Connection refused"), request).getBody());
+    }
+}
@@ -0,0 +1,83 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.opskube.eventmanagement.dto.EventDto.EventResponse;
+import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.model.User;
+import com.opskube.eventmanagement.services.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in {@code EventService.mapToEventResponse}, run once per event on
+ * every database-backed read. The mapping is private, so it is called through a constant method
+ * handle, which the JIT inlines like a direct call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    private static final MethodHandle MAP_TO_EVENT_RESPONSE;
+
+    static {
+        try {
+            MAP_TO_EVENT_RESPONSE = MethodHandles.privateLookupIn(EventService.class, MethodHandles.lookup())
+                    .findVirtual(EventService.class, "mapToEventResponse",
+                            MethodType.methodType(EventResponse.class, Event.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private EventService eventService;
+    private Event event;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        // The mapping reads no fields, so a service without collaborators will do
+        Constructor<?> constructor = EventService.class.getDeclaredConstructors()[0];
+        eventService = (EventService) constructor.newInstance(new Object[constructor.getParameterCount()]);
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        User organizer = User.builder()
+                .id(7L)
+                .username("organizer_7")
+                .email("organizer7@example.com")
+                .password("not-a-real-hash")
+                .createdAt(now.minusDays(400))
+                .build();
+        event = Event.builder()
+                .id(42L)
+                .name("Community Meetup #42")
+                .description("Monthly meetup with talks, demos and networking for the local community")
+                .date(now.plusDays(42).withHour(18).withMinute(30))
+                .location("Convention Center Hall C")
+                .organizer(organizer)
+                .createdAt(now.minusDays(30))
+                .updatedAt(now.minusDays(2))
+                .build();
+    }
+
+    @Benchmark
+    public EventResponse mapToEventResponse() throws Throwable {
+        return (EventResponse) MAP_TO_EVENT_RESPONSE.invokeExact(eventService, event);
+    }
+}
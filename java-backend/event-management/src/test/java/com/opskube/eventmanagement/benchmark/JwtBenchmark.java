@@ -0,0 +1,83 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.opskube.eventmanagement.config.SecurityProperties;
+import com.opskube.eventmanagement.security.JwtAuthenticationFilter;
+import com.opskube.eventmanagement.security.JwtUtil;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling on every authenticated request: issuing a token at login, validating one, and
+ * the whole {@link JwtAuthenticationFilter} pass with the user lookup stubbed out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private UserDetails user;
+    private String token;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        // Same shape as the app.jwt settings in application.properties
+        SecurityProperties properties = new SecurityProperties();
+        properties.setSecret("benchmark_jwt_secret_key_that_is_long_enough_for_hs256");
+        properties.setExpiration(86_400_000);
+        properties.setHeader("Authorization");
+        properties.setPrefix("Bearer ");
+
+        user = User.withUsername("john@example.com").password("not-a-real-hash").authorities("USER").build();
+        jwtUtil = new JwtUtil(properties);
+        filter = new JwtAuthenticationFilter(username -> user, jwtUtil, properties);
+        token = jwtUtil.generateToken(user);
+        authorization = properties.getPrefix() + token;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+
+    @Benchmark
+    public Authentication authenticationFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/1");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
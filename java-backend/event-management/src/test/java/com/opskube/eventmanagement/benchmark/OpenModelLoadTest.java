@@ -0,0 +1,369 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.EventManagementApplication;
+import com.opskube.eventmanagement.config.DataGeneratorProperties;
+import com.opskube.eventmanagement.services.EventSuggestionService;
+import com.opskube.eventmanagement.services.UpcomingEventsService;
+import com.opskube.eventmanagement.util.SyntheticDataGenerator;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load test: starts the application in this JVM on embedded H2 (or the PostgreSQL
+ * database given with --db-url, whose schema is dropped and recreated), fills it with
+ * {@link SyntheticDataGenerator}, then sends a mix of scenarios, each at its own constant
+ * arrival rate whatever the server does. Latency is measured from when each request was due,
+ * not when it went out, so a stalled server shows up in the percentiles instead of quietly
+ * lowering the request rate. Prints throughput and latency percentiles per scenario, and with
+ * --hlog writes each scenario's histogram to an HdrHistogram log for later comparison.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.opskube.eventmanagement.benchmark.OpenModelLoadTest \
+ *     -Dexec.args="--rates=listing:200,detail:200,login:5,rsvp:50,dashboard:20 --duration=60"
+ * </pre>
+ */
+public final class OpenModelLoadTest {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String DEFAULT_RATES = "listing:100,detail:100,login:2,rsvp:20,dashboard:10";
+    private static final String PASSWORD = "password123";
+    private static final String[] RSVP_STATUSES = {"ATTENDING", "MAYBE", "DECLINED"};
+
+    // Options with these prefixes are passed through to the application
+    private static final List<String> APP_PREFIXES = List.of("spring.", "app.", "server.", "logging.");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private OpenModelLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        try (ConfigurableApplicationContext context = start(options)) {
+            Target target = prepare(context, client, options);
+            List<Scenario> scenarios = scenarios(target, options.getOrDefault("rates", DEFAULT_RATES));
+            Map<Scenario, Histogram> histograms = run(client, scenarios, warmup, duration);
+            report(histograms, duration);
+            if (options.containsKey("hlog")) {
+                writeLogs(histograms, new File(options.get("hlog")));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Map<String, String> options) {
+        // A devtools restart would call main again with the application's arguments instead of ours
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                // Every request comes from one address, which the per-client limits would throttle
+                "--app.rate-limit.enabled=false",
+                "--logging.level.com.opskube=WARN"));
+        if (options.containsKey("db-url")) {
+            appArgs.addAll(List.of(
+                    "--spring.datasource.url=" + options.get("db-url"),
+                    "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                    "--spring.datasource.username=" + options.getOrDefault("db-user", "postgres"),
+                    "--spring.datasource.password=" + options.getOrDefault("db-password", ""),
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"));
+        }
+        options.forEach((name, value) -> {
+            if (APP_PREFIXES.stream().anyMatch(name::startsWith)) {
+                appArgs.add("--" + name + "=" + value);
+            }
+        });
+        return new SpringApplicationBuilder(EventManagementApplication.class)
+                .run(BenchmarkDatabase.args(appArgs.toArray(String[]::new)));
+    }
+
+    // Generates the data set, then logs in a pool of organizers to act as the signed-in users
+    private static Target prepare(ConfigurableApplicationContext context, HttpClient client,
+                                  Map<String, String> options) throws Exception {
+        DataGeneratorProperties generator = new DataGeneratorProperties();
+        generator.setUsers(Integer.parseInt(options.getOrDefault("users", "5000")));
+        generator.setEvents(Integer.parseInt(options.getOrDefault("events", "50000")));
+        generator.setRsvpsPerEvent(Double.parseDouble(options.getOrDefault("rsvps-per-event", "5")));
+        generator.setPassword(PASSWORD);
+        SyntheticDataGenerator.Summary summary =
+                new SyntheticDataGenerator(context.getBean(DataSource.class), generator).generate();
+        System.out.printf("Generated %d users, %d events and %d RSVPs in %d s%n", summary.users(),
+                summary.events(), summary.rsvps(), summary.elapsed().toSeconds());
+
+        // The in-memory views were built at startup, before there was any data
+        context.getBean(UpcomingEventsService.class).refresh();
+        context.getBean(EventSuggestionService.class).rebuild();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long minEventId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM events", Long.class);
+        long maxEventId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM events", Long.class);
+        List<Map<String, Object>> hotEvents = jdbcTemplate.queryForList(
+                "SELECT id, user_id FROM events WHERE date > ? ORDER BY date LIMIT 1",
+                Timestamp.valueOf(LocalDateTime.now().plusDays(1)));
+        if (hotEvents.isEmpty()) {
+            throw new IllegalStateException("No event is more than a day out for the rsvp scenario; "
+                    + "generate more events");
+        }
+        long hotEventId = ((Number) hotEvents.get(0).get("id")).longValue();
+        long hotOrganizerId = ((Number) hotEvents.get(0).get("user_id")).longValue();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port + context.getEnvironment().getProperty("server.servlet.context-path", "");
+
+        // The generator makes the first users the organizers. The hot event's own organizer is left
+        // out, since they cannot RSVP to it
+        int organizers = Math.max(1, (int) (generator.getUsers() * generator.getOrganizerShare()));
+        int signedIn = Math.min(organizers, Integer.parseInt(options.getOrDefault("tokens", "100")));
+        List<String> tokens = new ArrayList<>(signedIn);
+        for (int user = 1; user <= organizers && tokens.size() < signedIn; user++) {
+            if (user == hotOrganizerId) {
+                continue;
+            }
+            HttpResponse<String> response = client.send(login(base, user), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+            }
+            tokens.add(MAPPER.readTree(response.body()).get("token").asText());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalStateException("No organizer other than the hot event's can sign in; generate more users");
+        }
+
+        return new Target(base, generator.getUsers(), minEventId, maxEventId, hotEventId, tokens);
+    }
+
+    private static List<Scenario> scenarios(Target target, String rates) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String entry : rates.split(",")) {
+            String name = entry.substring(0, entry.indexOf(':')).trim();
+            double rate = Double.parseDouble(entry.substring(entry.indexOf(':') + 1));
+            Supplier<HttpRequest> requests = switch (name) {
+                // Anonymous browsing of the first pages, with and without the upcoming filter
+                case "listing" -> () -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    return get(target.base() + "/events?page=" + random.nextInt(10) + "&limit=10"
+                            + (random.nextBoolean() ? "&upcoming=true" : ""), null);
+                };
+                case "detail" -> () -> get(target.base() + "/events/"
+                        + ThreadLocalRandom.current().nextLong(target.minEventId(), target.maxEventId() + 1), null);
+                case "login" -> () -> login(target.base(), 1 + ThreadLocalRandom.current().nextInt(target.users()));
+                // Everyone signed in answering the same event
+                case "rsvp" -> () -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    String body = "{\"status\":\"" + RSVP_STATUSES[random.nextInt(RSVP_STATUSES.length)] + "\"}";
+                    return HttpRequest.newBuilder(URI.create(target.base() + "/events/" + target.hotEventId() + "/rsvp"))
+                            .timeout(Duration.ofSeconds(60))
+                            .header("Authorization", "Bearer " + target.randomToken())
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                };
+                // Organizers checking their own events and what they attend
+                case "dashboard" -> () -> get(target.base() + (ThreadLocalRandom.current().nextBoolean()
+                        ? "/events/my-events" : "/events/attending"), target.randomToken());
+                default -> throw new IllegalArgumentException("Unknown scenario " + name
+                        + ", expected listing, detail, login, rsvp or dashboard");
+            };
+            scenarios.add(new Scenario(name, rate, requests, new Stats()));
+        }
+        return scenarios;
+    }
+
+    private static Map<Scenario, Histogram> run(HttpClient client, List<Scenario> scenarios, Duration warmup,
+                                                Duration duration) throws InterruptedException {
+        AtomicLong inFlight = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + warmup.toNanos() + duration.toNanos();
+        List<Thread> dispatchers = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            dispatchers.add(dispatch(client, scenario, start, end, inFlight));
+        }
+
+        // Discard the warm-up, then measure
+        Thread.sleep(warmup.toMillis());
+        scenarios.forEach(scenario -> scenario.stats().reset());
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join();
+        }
+
+        // Let the last requests complete, since their latency counts too
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        Map<Scenario, Histogram> histograms = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> histograms.put(scenario, scenario.stats().recorder().getIntervalHistogram()));
+        return histograms;
+    }
+
+    // Sends one scenario's requests on a fixed schedule, without waiting for responses
+    private static Thread dispatch(HttpClient client, Scenario scenario, long start, long end, AtomicLong inFlight) {
+        Thread thread = new Thread(() -> {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.rate());
+            for (long due = start; due < end; due += interval) {
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                long intended = due;
+                inFlight.incrementAndGet();
+                client.sendAsync(scenario.requests().get(), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            scenario.stats().record(intended, response, failure);
+                            inFlight.decrementAndGet();
+                        });
+            }
+        }, "load-" + scenario.name());
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void report(Map<Scenario, Histogram> histograms, Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%-10s %8s %9s %9s %9s %9s %9s %9s %8s %7s%n", "scenario", "rate/s", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "non-2xx", "failed");
+        histograms.forEach((scenario, histogram) -> System.out.printf(
+                "%-10s %8.0f %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %8d %7d%n",
+                scenario.name(), scenario.rate(), histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                scenario.stats().nonSuccess(),
+                scenario.stats().failures().sum()));
+
+        histograms.keySet().forEach(scenario -> {
+            if (!scenario.stats().statuses().isEmpty()) {
+                System.out.printf("%s responses other than 2xx: %s%n", scenario.name(),
+                        new TreeMap<>(scenario.stats().statuses()));
+            }
+        });
+    }
+
+    // One log per scenario, readable with HistogramLogProcessor or the HdrHistogram plotter
+    private static void writeLogs(Map<Scenario, Histogram> histograms, File directory) throws Exception {
+        directory.mkdirs();
+        for (Map.Entry<Scenario, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            HistogramLogWriter writer = new HistogramLogWriter(new File(directory, entry.getKey().name() + ".hlog"));
+            try {
+                writer.outputLogFormatVersion();
+                writer.outputComment("Latency in microseconds, max column in milliseconds");
+                writer.outputStartTime(histogram.getStartTimeStamp());
+                writer.outputLegend();
+                writer.outputIntervalHistogram(histogram.getStartTimeStamp() / 1000.0,
+                        histogram.getEndTimeStamp() / 1000.0, histogram, 1000.0);
+            } finally {
+                writer.close();
+            }
+        }
+        System.out.println("Histogram logs written to " + directory.getAbsolutePath());
+    }
+
+    private static HttpRequest get(String uri, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(60)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static HttpRequest login(String base, long userId) {
+        String body = "{\"email\":\"user" + userId + "@example.com\",\"password\":\"" + PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Target(String base, int users, long minEventId, long maxEventId, long hotEventId,
+                          List<String> tokens) {
+
+        String randomToken() {
+            return tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+        }
+    }
+
+    private record Scenario(String name, double rate, Supplier<HttpRequest> requests, Stats stats) {
+    }
+
+    private record Stats(Recorder recorder, LongAdder failures, Map<Integer, LongAdder> statuses) {
+
+        Stats() {
+            this(new Recorder(MAX_LATENCY_MICROS, 3), new LongAdder(), new ConcurrentHashMap<>());
+        }
+
+        // Latency runs from when the request was due, including any time it waited to be sent
+        void record(long intendedNanos, HttpResponse<?> response, Throwable failure) {
+            if (failure != null) {
+                failures.increment();
+                return;
+            }
+            recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos),
+                    MAX_LATENCY_MICROS));
+            if (response.statusCode() / 100 != 2) {
+                statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+            }
+        }
+
+        long nonSuccess() {
+            return statuses.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        void reset() {
+            recorder.reset();
+            failures.reset();
+            statuses.clear();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.opskube.eventmanagement.dto.EventDto.EventResponse;
+import com.opskube.eventmanagement.dto.EventDto.EventsResponse;
+import com.opskube.eventmanagement.dto.EventDto.PaginationInfo;
+import com.opskube.eventmanagement.dto.RsvpDto.RsvpListResponse;
+import com.opskube.eventmanagement.dto.RsvpDto.RsvpResponse;
+import com.opskube.eventmanagement.dto.UserDto;
+import com.opskube.eventmanagement.model.Rsvp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization time of a 100-event page and a 100-RSVP list in each negotiated format. The
+ * payload size of each format is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private EventsResponse page;
+    private byte[] payload;
+    private RsvpListResponse rsvps;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same settings the application's converters get from Spring Boot
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (format) {
+            case "smile" -> builder.factory(new SmileFactory());
+            case "cbor" -> builder.factory(new CBORFactory());
+            default -> {
+            }
+        }
+        objectMapper = builder.build();
+
+        page = eventsPage(100);
+        payload = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s payload for %d events: %d bytes%n", format, page.getEvents().size(), payload.length);
+        rsvps = rsvpList(100);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public EventsResponse deserialize() throws IOException {
+        return objectMapper.readValue(payload, EventsResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeRsvps() throws IOException {
+        return objectMapper.writeValueAsBytes(rsvps);
+    }
+
+    private static RsvpListResponse rsvpList(int size) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        Rsvp.RsvpStatus[] statuses = Rsvp.RsvpStatus.values();
+        List<RsvpResponse> rsvps = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserDto user = UserDto.builder()
+                    .id((long) i)
+                    .username("attendee_" + i)
+                    .email("attendee" + i + "@example.com")
+                    .createdAt(now.minusDays(200).plusHours(i))
+                    .build();
+            rsvps.add(RsvpResponse.builder()
+                    .id((long) i)
+                    .user(user)
+                    .status(statuses[i % statuses.length])
+                    .createdAt(now.minusDays(10).plusMinutes(i))
+                    .updatedAt(now.minusDays(1).plusMinutes(i))
+                    .build());
+        }
+        return RsvpListResponse.builder().rsvps(rsvps).build();
+    }
+
+    private static EventsResponse eventsPage(int size) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<EventResponse> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserDto organizer = UserDto.builder()
+                    .id((long) i % 10)
+                    .username("organizer_" + i % 10)
+                    .email("organizer" + i % 10 + "@example.com")
+                    .createdAt(now.minusDays(400))
+                    .build();
+            events.add(EventResponse.builder()
+                    .id((long) i)
+                    .name("Community Meetup #" + i)
+                    .description("Monthly meetup with talks, demos and networking for the local community, edition " + i)
+                    .date(now.plusDays(i).withHour(18).withMinute(30))
+                    .location("Convention Center Hall " + (char) ('A' + i % 5))
+                    .organizer(organizer)
+                    .createdAt(now.minusDays(30).plusMinutes(i))
+                    .updatedAt(now.minusDays(2).plusMinutes(i))
+                    .build());
+        }
+        PaginationInfo pagination = PaginationInfo.builder()
+                .totalEvents(1000)
+                .totalPages(10)
+                .currentPage(0)
+                .eventsPerPage(size)
+                .hasNextPage(true)
+                .hasPrevPage(false)
+                .build();
+        return EventsResponse.builder().events(events).pagination(pagination).build();
+    }
+}
@@ -0,0 +1,253 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.opskube.eventmanagement.EventManagementApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shows what the connection pool size does to latency, with a fixed pool and with
+ * {@code app.db.pool.adaptive.enabled}. Starts the application in this JVM without a web server,
+ * then runs phases of increasing arrival rate against its data source, each request taking a
+ * connection and running one statement. On the default embedded H2 the statement is a simulated
+ * query: it takes --query-ms once it gets one of --db-capacity slots, like a database with that
+ * many cores, so latency rises once more connections are busy than the database can serve. With
+ * --db-url it runs pg_sleep on PostgreSQL instead, which has no such limit.
+ *
+ * <p>Prints the pool size and throughput every second, then per phase the time waiting for a
+ * connection, the statement time and the total from when each request was due.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.opskube.eventmanagement.benchmark.PoolSizingLoadTest \
+ *     -Dexec.args="--phases=200:20,600:20,1000:20 --pool-size=4 --db-capacity=8"
+ * </pre>
+ */
+public final class PoolSizingLoadTest {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    // Options with these prefixes are passed through to the application
+    private static final List<String> APP_PREFIXES = List.of("spring.", "app.", "logging.");
+
+    private static volatile Semaphore databaseSlots = new Semaphore(8, true);
+
+    private PoolSizingLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        databaseSlots = new Semaphore(Integer.parseInt(options.getOrDefault("db-capacity", "8")), true);
+        List<Phase> phases = new ArrayList<>();
+        for (String phase : options.getOrDefault("phases", "200:20,600:20,1000:20").split(",")) {
+            String[] parts = phase.split(":");
+            phases.add(new Phase(Double.parseDouble(parts[0]), Integer.parseInt(parts[1])));
+        }
+
+        for (String mode : options.getOrDefault("modes", "fixed,adaptive").split(",")) {
+            System.out.printf("%n== %s pool ==%n", mode);
+            try (ConfigurableApplicationContext context = start(options, mode.equals("adaptive"))) {
+                run(context, options, phases);
+            }
+            phases.forEach(Phase::reset);
+        }
+    }
+
+    // Called by H2 for SIMULATED_QUERY(micros)
+    public static int simulatedQuery(int micros) throws InterruptedException {
+        databaseSlots.acquire();
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } finally {
+            databaseSlots.release();
+        }
+        return micros;
+    }
+
+    private static ConfigurableApplicationContext start(Map<String, String> options, boolean adaptive) {
+        // A devtools restart would call main again with the application's arguments instead of ours
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--spring.datasource.hikari.maximum-pool-size=" + options.getOrDefault("pool-size", "4"),
+                // The gate applies a smaller size at once, where the pool would wait for its idle timeout
+                "--app.db.gate.enabled=true",
+                "--app.db.pool.adaptive.enabled=" + adaptive,
+                "--app.db.pool.adaptive.interval-ms=1000",
+                "--app.db.pool.adaptive.max-size=32",
+                "--logging.level.com.opskube=WARN",
+                "--logging.level.com.opskube.eventmanagement.services.ConnectionPoolSizer=INFO"));
+        if (options.containsKey("db-url")) {
+            appArgs.addAll(List.of(
+                    "--spring.datasource.url=" + options.get("db-url"),
+                    "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                    "--spring.datasource.username=" + options.getOrDefault("db-user", "postgres"),
+                    "--spring.datasource.password=" + options.getOrDefault("db-password", ""),
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"));
+        }
+        options.forEach((name, value) -> {
+            if (APP_PREFIXES.stream().anyMatch(name::startsWith)) {
+                appArgs.add("--" + name + "=" + value);
+            }
+        });
+        return new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(BenchmarkDatabase.args(appArgs.toArray(String[]::new)));
+    }
+
+    private static void run(ConfigurableApplicationContext context, Map<String, String> options,
+                            List<Phase> phases) throws Exception {
+        DataSource dataSource = context.getBean(DataSource.class);
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        int queryMicros = (int) (Double.parseDouble(options.getOrDefault("query-ms", "10")) * 1000);
+        String sql;
+        Object parameter;
+        if (options.containsKey("db-url")) {
+            sql = "SELECT pg_sleep(?)";
+            parameter = queryMicros / 1e6;
+        } else {
+            new JdbcTemplate(dataSource).execute("CREATE ALIAS IF NOT EXISTS SIMULATED_QUERY FOR \""
+                    + PoolSizingLoadTest.class.getName() + ".simulatedQuery\"");
+            sql = "SELECT SIMULATED_QUERY(?)";
+            parameter = queryMicros;
+        }
+
+        // Enough workers to never be the limit; requests due while all are busy queue up, and count as late
+        int workers = Integer.parseInt(options.getOrDefault("workers", "256"));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        LongAdder completed = new LongAdder();
+
+        long start = System.nanoTime();
+        Thread dispatcher = new Thread(() -> {
+            long phaseStart = start;
+            for (Phase phase : phases) {
+                long interval = (long) (TimeUnit.SECONDS.toNanos(1) / phase.rate());
+                long phaseEnd = phaseStart + TimeUnit.SECONDS.toNanos(phase.seconds());
+                for (long due = phaseStart; due < phaseEnd; due += interval) {
+                    for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    long intended = due;
+                    executor.execute(() -> {
+                        phase.execute(dataSource, sql, parameter, intended);
+                        completed.increment();
+                    });
+                }
+                phase.poolSizeAtEnd().set(pool.getMaximumPoolSize());
+                phaseStart = phaseEnd;
+            }
+        }, "pool-load");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+
+        // Once a second until everything sent has completed
+        System.out.printf("%6s %8s %8s %6s %7s %8s%n", "time s", "rate/s", "done/s", "pool", "active", "queued");
+        long lastCompleted = 0;
+        for (int second = 1; dispatcher.isAlive() || executor.getActiveCount() > 0 || !executor.getQueue().isEmpty();
+             second++) {
+            LockSupport.parkNanos(start + TimeUnit.SECONDS.toNanos(second) - System.nanoTime());
+            long done = completed.sum();
+            System.out.printf("%6d %8.0f %8d %6d %7d %8d%n", second, rateAt(phases, second), done - lastCompleted,
+                    pool.getMaximumPoolSize(), pool.getHikariPoolMXBean().getActiveConnections(),
+                    executor.getQueue().size());
+            lastCompleted = done;
+        }
+        executor.shutdown();
+
+        System.out.printf("%8s %9s %6s %9s %9s %9s %9s %9s %9s %7s%n", "rate/s", "req/s", "pool", "wait p50",
+                "wait p99", "query p50", "query p99", "total p50", "total p99", "failed");
+        for (Phase phase : phases) {
+            Histogram wait = phase.connectionWait().getIntervalHistogram();
+            Histogram query = phase.query().getIntervalHistogram();
+            Histogram total = phase.total().getIntervalHistogram();
+            System.out.printf("%8.0f %9.1f %6d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n", phase.rate(),
+                    (double) total.getTotalCount() / phase.seconds(), phase.poolSizeAtEnd().get(),
+                    ms(wait, 50), ms(wait, 99), ms(query, 50), ms(query, 99), ms(total, 50), ms(total, 99),
+                    phase.failures().sum());
+        }
+    }
+
+    private static double rateAt(List<Phase> phases, int second) {
+        int end = 0;
+        for (Phase phase : phases) {
+            end += phase.seconds();
+            if (second <= end) {
+                return phase.rate();
+            }
+        }
+        return 0;
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Phase(double rate, int seconds, Recorder connectionWait, Recorder query, Recorder total,
+                         LongAdder failures, AtomicInteger poolSizeAtEnd) {
+
+        Phase(double rate, int seconds) {
+            this(rate, seconds, recorder(), recorder(), recorder(), new LongAdder(), new AtomicInteger());
+        }
+
+        private static Recorder recorder() {
+            return new Recorder(MAX_LATENCY_MICROS, 3);
+        }
+
+        void execute(DataSource dataSource, String sql, Object parameter, long intendedNanos) {
+            long started = System.nanoTime();
+            try (Connection connection = dataSource.getConnection()) {
+                long acquired = System.nanoTime();
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setObject(1, parameter);
+                    statement.execute();
+                }
+                long finished = System.nanoTime();
+                record(connectionWait, acquired - started);
+                record(query, finished - acquired);
+                record(total, finished - intendedNanos);
+            } catch (Exception e) {
+                failures.increment();
+            }
+        }
+
+        void reset() {
+            connectionWait.reset();
+            query.reset();
+            total.reset();
+            failures.reset();
+        }
+
+        private static void record(Recorder recorder, long nanos) {
+            recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.opskube.eventmanagement.util.PrefixIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 typeahead lookups against a prefix index of synthetic event names, for short
+ * single-word prefixes that match many entries and a multi-word prefix that matches few.
+ * Setup prints the index size, entry count, estimated footprint and build time, the other
+ * figures quoted in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PrefixIndexBenchmark {
+
+    private static final String[] ADJECTIVES = {"Annual", "Monthly", "Weekly", "Summer", "Winter", "Spring",
+            "Autumn", "Open", "Global", "Local", "Community", "Evening", "Morning", "Downtown", "Virtual"};
+    private static final String[] TOPICS = {"Java", "Data", "Cloud", "Jazz", "Yoga", "Photography", "Startup",
+            "Design", "Python", "Cooking", "Running", "Chess", "Poetry", "Robotics", "Film", "Wine"};
+    private static final String[] KINDS = {"Meetup", "Conference", "Workshop", "Festival", "Night", "Summit",
+            "Hackathon", "Class", "Tour", "Talk", "Fair", "Camp"};
+
+    @Param({"1000000"})
+    private int suggestions;
+
+    @Param({"j", "ja", "java", "conf", "java meetup 12"})
+    private String prefix;
+
+    private PrefixIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Names shaped like the synthetic data generator's, four words each
+        SplittableRandom random = new SplittableRandom(42);
+        long started = System.nanoTime();
+        PrefixIndex.Builder builder = PrefixIndex.builder();
+        for (int i = 0; i < suggestions; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + TOPICS[random.nextInt(TOPICS.length)]
+                    + " " + KINDS[random.nextInt(KINDS.length)] + " " + i;
+            builder.add(name, (byte) 0, i, random.nextInt(200), (float) random.nextDouble(0.1, 4));
+        }
+        index = builder.build();
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        System.out.printf("%nPrefix index: %d suggestions, %d entries, ~%d MB (%d bytes per suggestion), built in %d ms%n",
+                index.size(), index.entryCount(), index.estimatedBytes() >> 20,
+                index.estimatedBytes() / index.size(), buildMillis);
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Hit> topTen() {
+        return index.search(prefix, 10, null);
+    }
+}
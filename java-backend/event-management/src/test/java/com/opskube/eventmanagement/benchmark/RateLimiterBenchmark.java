@@ -0,0 +1,62 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.opskube.eventmanagement.util.StripedBucketMap;
+import com.opskube.eventmanagement.util.TokenBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one rate-limit check (bucket lookup plus token take) from several threads, for a
+ * working set that fits in the map and for one far larger than its bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int MAX_KEYS = 100_000;
+
+    @Param({"10000", "1000000"})
+    private int distinctKeys;
+
+    private StripedBucketMap buckets;
+    private TokenBucket.Policy policy;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        buckets = new StripedBucketMap(64, MAX_KEYS);
+        policy = TokenBucket.Policy.of(60, Duration.ofMinutes(1).toNanos());
+
+        // Pre-built keys, so the benchmark measures the limiter rather than string building
+        keys = new String[distinctKeys];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "rsvp|user:" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    public boolean check() {
+        String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        long now = System.nanoTime();
+        return buckets.get(key, now).tryConsume(policy, now).allowed();
+    }
+}
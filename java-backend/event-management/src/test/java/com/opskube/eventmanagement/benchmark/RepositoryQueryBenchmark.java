@@ -0,0 +1,153 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.opskube.eventmanagement.EventManagementApplication;
+import com.opskube.eventmanagement.model.Event;
+import com.opskube.eventmanagement.repository.EventField;
+import com.opskube.eventmanagement.repository.EventRepository;
+import com.opskube.eventmanagement.repository.EventRow;
+import com.opskube.eventmanagement.repository.EventSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The repository queries behind the API, each in its own read-only transaction against embedded
+ * H2, with the second-level and query caches off so every call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    private static final int USERS = 200;
+    private static final int EVENTS = 10_000;
+    private static final int RSVPS_PER_USER = 20;
+    private static final Set<EventField> SUMMARY_FIELDS = EnumSet.of(
+            EventField.ID, EventField.NAME, EventField.DESCRIPTION, EventField.DATE, EventField.LOCATION);
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private TransactionTemplate readOnly;
+    private long[] userIds;
+    private long[] eventIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(BenchmarkDatabase.args(
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--app.upcoming.enabled=false",
+                        "--app.archival.enabled=false"));
+        eventRepository = context.getBean(EventRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        // Users organizing events over the next year, each with RSVPs to a few of them
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userIds = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = BenchmarkDatabase.insertUser(jdbcTemplate, "user" + i);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            rows.add(new Object[]{"Event " + i, "Description of event " + i,
+                    Timestamp.valueOf(now.plusMinutes(1 + (long) i * 365 * 24 * 60 / EVENTS)), "Location " + (i % 100),
+                    userIds[i % USERS], Timestamp.valueOf(now), Timestamp.valueOf(now), i + 1L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (name, description, date, location, user_id, "
+                + "created_at, updated_at, change_version) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        eventIds = jdbcTemplate.queryForList("SELECT id FROM events", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+
+        List<Object[]> rsvps = new ArrayList<>(USERS * RSVPS_PER_USER);
+        for (int u = 0; u < USERS; u++) {
+            for (int r = 0; r < RSVPS_PER_USER; r++) {
+                rsvps.add(new Object[]{userIds[u], eventIds[(u * 37 + r * 491) % EVENTS], "ATTENDING",
+                        Timestamp.valueOf(now)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rsvps (user_id, event_id, status, created_at) VALUES (?, ?, ?, ?)",
+                rsvps);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Event findById() {
+        long id = eventIds[ThreadLocalRandom.current().nextInt(EVENTS)];
+        return readOnly.execute(status -> {
+            Event event = eventRepository.findById(id).orElseThrow();
+            // Touch the organizer, as the mapping does
+            event.getOrganizer().getEmail();
+            return event;
+        });
+    }
+
+    @Benchmark
+    public Page<Event> listingPage() {
+        PageRequest page = PageRequest.of(ThreadLocalRandom.current().nextInt(100), 10, Sort.by("date"));
+        return readOnly.execute(status -> eventRepository.findAll(page));
+    }
+
+    @Benchmark
+    public Page<Event> nameSearch() {
+        String name = "Event " + ThreadLocalRandom.current().nextInt(100);
+        return readOnly.execute(status ->
+                eventRepository.findByNameContainingIgnoreCase(name, PageRequest.of(0, 10, Sort.by("date"))));
+    }
+
+    @Benchmark
+    public Page<EventRow> summaryPage() {
+        PageRequest page = PageRequest.of(ThreadLocalRandom.current().nextInt(100), 10, Sort.by("date"));
+        return readOnly.execute(status -> eventRepository.findProjected(SUMMARY_FIELDS, 160,
+                EventSpecifications.dateFrom(LocalDateTime.now()), page));
+    }
+
+    @Benchmark
+    public List<Event> attendingEvents() {
+        long userId = userIds[ThreadLocalRandom.current().nextInt(USERS)];
+        return readOnly.execute(status -> eventRepository.findAttendingEvents(userId));
+    }
+
+    @Benchmark
+    public List<Event> syncChanges() {
+        long since = ThreadLocalRandom.current().nextInt(EVENTS - 100);
+        return readOnly.execute(status -> eventRepository.findChanges(since, EVENTS, PageRequest.of(0, 100)));
+    }
+}
@@ -0,0 +1,139 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.opskube.eventmanagement.EventManagementApplication;
+import com.opskube.eventmanagement.services.EventService;
+import com.opskube.eventmanagement.services.RsvpService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reads behind a typical authenticated request (token check, event detail, a listing page
+ * and the caller's RSVP status) with the second-level and query caches on and off. The number
+ * of JDBC statements per request is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+// Long warmup: the whole request path has to be compiled, and the caches filled
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private static final int USERS = 100;
+    private static final int EVENTS = 2000;
+
+    @Param({"on", "off"})
+    private String cache;
+
+    private ConfigurableApplicationContext context;
+    private UserDetailsService userDetailsService;
+    private EventService eventService;
+    private RsvpService rsvpService;
+    private Statistics statistics;
+    private long[] eventIds;
+    private long requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean enabled = cache.equals("on");
+        context = new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(BenchmarkDatabase.args(
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + enabled,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + enabled,
+                        // Hit ratios for the printed summary
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        // Read through JPA rather than the in-memory snapshot
+                        "--app.upcoming.enabled=false"));
+        userDetailsService = context.getBean(UserDetailsService.class);
+        eventService = context.getBean(EventService.class);
+        rsvpService = context.getBean(RsvpService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        // Users organizing events spread over the next year
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long[] userIds = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = BenchmarkDatabase.insertUser(jdbcTemplate, "user" + i);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            rows.add(new Object[]{"Event " + i, "Description of event " + i,
+                    Timestamp.valueOf(now.plusHours(1 + i * 4L)), "Location " + (i % 50),
+                    userIds[i % USERS], Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (name, description, date, location, user_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        eventIds = jdbcTemplate.queryForList("SELECT id FROM events", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        statistics.clear();
+        requests = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatements() {
+        System.out.printf("%n%s: %.2f statements per request%n", cache,
+                (double) statistics.getPrepareStatementCount() / Math.max(1, requests));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = "user" + random.nextInt(USERS) + "@example.com";
+        long eventId = eventIds[random.nextInt(eventIds.length)];
+
+        // What JwtAuthenticationFilter does before the controller runs
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        try {
+            blackhole.consume(eventService.getEventById(eventId));
+            blackhole.consume(eventService.getAllEvents(null, null, false, random.nextInt(4), 10));
+            blackhole.consume(rsvpService.getUserRsvpStatus(eventId));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        requests++;
+    }
+}
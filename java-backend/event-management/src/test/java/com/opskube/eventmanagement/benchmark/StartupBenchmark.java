@@ -0,0 +1,221 @@
+package com.opskube.eventmanagement.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold start benchmark: launches the packaged application in a fresh JVM, on embedded H2, and
+ * reports the time from launch to the first successful {@code GET /health} and to the first
+ * successful {@code GET /events} sent after it, and its resident memory at that point (Linux
+ * only). Each variant runs --runs times (5); the median and best are printed.
+ *
+ * <ul>
+ *     <li>{@code jar}: the Spring Boot jar, as deployed by default</li>
+ *     <li>{@code lazy}: the same with {@code spring.main.lazy-initialization=true}</li>
+ *     <li>{@code aot}: the fast-start build with its Spring AOT code</li>
+ *     <li>{@code aot-cds}: that plus its class data sharing archive</li>
+ *     <li>{@code aot-cds-lazy}: that plus lazy initialization</li>
+ *     <li>{@code native}: the native executable built by {@code -Pnative}</li>
+ * </ul>
+ *
+ * <pre>
+ * ./mvnw -Pfast-start package
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.opskube.eventmanagement.benchmark.StartupBenchmark \
+ *     -Dexec.args="--runs=5 --variants=jar,aot,aot-cds"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final String DEFAULT_VARIANTS = "jar,lazy,aot,aot-cds,aot-cds-lazy,native";
+    private static final List<String> LAZY = List.of("--spring.main.lazy-initialization=true");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Path target = Path.of(options.getOrDefault("target", "target"));
+        Path fastStart = target.resolve("fast-start");
+        Path bootJar = bootJar(target);
+        Path fastStartJar = fastStartJar(fastStart);
+        Path executable = target.resolve("event-management");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        System.out.printf("%-14s %12s %12s %12s %12s %10s%n", "variant", "health p50", "health min", "events p50",
+                "events min", "rss p50");
+        for (String name : options.getOrDefault("variants", DEFAULT_VARIANTS).split(",")) {
+            Variant variant = variant(name, bootJar, fastStart, fastStartJar, executable);
+            if (variant == null) {
+                System.out.printf("%-14s not built, run ./mvnw package%s first%n", name,
+                        name.startsWith("aot") ? " -Pfast-start" : name.equals("native") ? " -Pnative" : "");
+                continue;
+            }
+            long[] health = new long[runs];
+            long[] events = new long[runs];
+            long[] rss = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                long[] result = launch(client, variant);
+                health[run] = result[0];
+                events[run] = result[1];
+                rss[run] = result[2];
+            }
+            Arrays.sort(health);
+            Arrays.sort(events);
+            Arrays.sort(rss);
+            System.out.printf("%-14s %10d ms %10d ms %10d ms %10d ms %7d MB%n", name, health[runs / 2], health[0],
+                    events[runs / 2], events[0], rss[runs / 2] / 1024);
+        }
+    }
+
+    private static Variant variant(String name, Path bootJar, Path fastStart, Path fastStartJar, Path executable) {
+        Path archive = fastStart.resolve("application.jsa");
+        List<String> aot = List.of("-Dspring.aot.enabled=true");
+        List<String> aotCds = List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa");
+        return switch (name) {
+            case "jar" -> bootJar == null ? null : new Variant(bootJar.toAbsolutePath(), null, List.of(), List.of());
+            case "lazy" -> bootJar == null ? null : new Variant(bootJar.toAbsolutePath(), null, List.of(), LAZY);
+            case "aot" -> fastStartJar == null ? null : new Variant(fastStartJar, fastStart, aot, List.of());
+            // The archive is only used with the class path it was recorded with, so run from the same place
+            case "aot-cds" -> fastStartJar == null || !Files.exists(archive) ? null
+                    : new Variant(fastStartJar, fastStart, aotCds, List.of());
+            case "aot-cds-lazy" -> fastStartJar == null || !Files.exists(archive) ? null
+                    : new Variant(fastStartJar, fastStart, aotCds, LAZY);
+            case "native" -> !Files.isExecutable(executable) ? null
+                    : new Variant(executable.toAbsolutePath(), null, null, List.of());
+            default -> throw new IllegalArgumentException("Unknown variant " + name + ", expected " + DEFAULT_VARIANTS);
+        };
+    }
+
+    // Milliseconds from launch to the first good /health and to the first good /events after it,
+    // then resident memory in KB
+    private static long[] launch(HttpClient client, Variant variant) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        if (variant.jvmArgs() == null) {
+            command.add(variant.jar().toString());
+        } else {
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(variant.jvmArgs());
+            command.addAll(List.of("-jar", variant.directory() == null ? variant.jar().toString()
+                    : variant.jar().getFileName().toString()));
+        }
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--management.server.port=" + freePort(),
+                "--spring.datasource.url=jdbc:h2:mem:startup",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        command.addAll(variant.appArgs());
+
+        File log = File.createTempFile("startup-", ".log");
+        log.deleteOnExit();
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log);
+        if (variant.directory() != null) {
+            builder.directory(variant.directory().toFile());
+        }
+
+        String base = "http://localhost:" + port + "/api";
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            long health = awaitOk(client, process, base + "/health", start, log);
+            long events = awaitOk(client, process, base + "/events", start, log);
+            String output = Files.readString(log.toPath());
+            if (output.contains("[cds]") && (output.contains("[error]") || output.contains("Unable to use shared archive"))) {
+                System.out.println("The class data sharing archive was not used, see " + log);
+            }
+            return new long[]{health, events, residentKilobytes(process.pid())};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static long awaitOk(HttpClient client, Process process, String uri, long start, File log) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(10)).GET().build();
+        while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            } catch (ConnectException | HttpTimeoutException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No successful response from " + uri + " within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private static long residentKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst().orElse(0);
+        }
+    }
+
+    private static Path bootJar(Path target) throws IOException {
+        return jar(target, name -> name.startsWith("event-management-") && name.endsWith(".jar"));
+    }
+
+    private static Path fastStartJar(Path fastStart) throws IOException {
+        return Files.isDirectory(fastStart) ? jar(fastStart, name -> name.endsWith("-fast-start.jar")) : null;
+    }
+
+    private static Path jar(Path directory, java.util.function.Predicate<String> matches) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> matches.test(file.getFileName().toString())).findFirst().orElse(null);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    // Without jvmArgs the file is run itself, as the native executable
+    private record Variant(Path jar, Path directory, List<String> jvmArgs, List<String> appArgs) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.opskube.eventmanagement.benchmark;
+
+import com.opskube.eventmanagement.EventManagementApplication;
+import com.opskube.eventmanagement.dto.EventDto.EventsResponse;
+import com.opskube.eventmanagement.services.EventService;
+import com.opskube.eventmanagement.services.UpcomingEventsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares upcoming and date-filtered listings served from the in-memory snapshot against the
+ * JPA path, on an H2 database seeded with future events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpcomingEventsBenchmark {
+
+    @Param({"snapshot", "jpa"})
+    private String path;
+
+    @Param({"20000"})
+    private int events;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private LocalDateTime middleDay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(BenchmarkDatabase.args(
+                        "--app.upcoming.enabled=" + path.equals("snapshot"),
+                        "--app.upcoming.refresh-interval-ms=3600000"));
+        eventService = context.getBean(EventService.class);
+
+        // Spread the events over the next two years, a few per day
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now();
+        long organizerId = BenchmarkDatabase.insertUser(jdbcTemplate, "organizer");
+        List<Object[]> rows = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            LocalDateTime date = now.plusMinutes(1 + (long) i * 2 * 365 * 24 * 60 / events);
+            rows.add(new Object[]{"Event " + i, "Description of event " + i, Timestamp.valueOf(date),
+                    "Location " + (i % 100), organizerId, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (name, description, date, location, user_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        middleDay = now.plusDays(365);
+
+        // Pick up the seeded rows
+        context.getBean(UpcomingEventsService.class).refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EventsResponse upcomingFirstPage() {
+        return eventService.getAllEvents(null, null, true, 0, 10);
+    }
+
+    @Benchmark
+    public EventsResponse upcomingDeepPage() {
+        return eventService.getAllEvents(null, null, true, events / 20, 10);
+    }
+
+    @Benchmark
+    public EventsResponse dateFiltered() {
+        return eventService.getAllEvents(null, middleDay, false, 0, 10);
+    }
+}
@@ -0,0 +1,106 @@
+package com.opskube.eventmanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opskube.eventmanagement.config.ConcurrencyLimitProperties;
+import com.opskube.eventmanagement.config.SecurityProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setHeader(HttpHeaders.AUTHORIZATION);
+        filter = new ConcurrencyLimitFilter(properties, securityProperties, new ObjectMapper().findAndRegisterModules(),
+                registry);
+
+        // Meter tags must not depend on the default locale, where "I" does not always lower-case to "i"
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            filter.initLimits();
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void rejectsOverTheLimitPerRouteClass() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[3];
+        FilterChain holdingChain = (request, response) -> {
+            // While this anonymous read holds the only slot of its class
+            nested[0] = perform(get("/events"));
+            nested[1] = perform(post("/events"));
+            nested[2] = perform(get("/health"));
+        };
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(get("/events"), outer, holdingChain);
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(nested[0].getContentAsString().contains("Server is busy, please retry shortly"));
+        assertEquals(200, nested[1].getStatus());
+        assertEquals(200, nested[2].getStatus());
+        assertEquals(1, registry.counter("http.concurrency.rejected", "route_class", "anonymous_read").count());
+
+        // The slot is back once the request completes
+        assertEquals(200, perform(get("/events")).getStatus());
+    }
+
+    @Test
+    void tellsAuthenticatedReadsApart() throws Exception {
+        FilterChain holdingChain = (request, response) ->
+                assertEquals(200, perform(withToken(get("/events"))).getStatus());
+        filter.doFilter(get("/events"), new MockHttpServletResponse(), holdingChain);
+
+        assertNotNull(registry.find("http.concurrency.limit").tag("route_class", "authenticated_read").gauge());
+        assertEquals(0, registry.counter("http.concurrency.rejected", "route_class", "anonymous_read").count());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        return request("GET", path);
+    }
+
+    private static MockHttpServletRequest post(String path) {
+        return request("POST", path);
+    }
+
+    private static MockHttpServletRequest withToken(MockHttpServletRequest request) {
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + path);
+        request.setContextPath("/api");
+        return request;
+    }
+}
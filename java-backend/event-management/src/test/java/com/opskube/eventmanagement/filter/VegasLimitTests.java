@@ -0,0 +1,62 @@
+package com.opskube.eventmanagement.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VegasLimitTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void admitsUpToTheLimit() {
+        VegasLimit limit = new VegasLimit(2, 1, 10, 1, 5);
+
+        assertEquals(1, limit.tryAcquire());
+        assertEquals(2, limit.tryAcquire());
+        assertEquals(0, limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(FAST, 1);
+        assertEquals(2, limit.tryAcquire());
+    }
+
+    @Test
+    void sustainedLoadDoesNotBecomeTheBaseline() {
+        VegasLimit limit = new VegasLimit(50, 10, 200, 1, 5);
+        limit.release(FAST, 1);
+
+        // Latency five times the baseline with the limit in use: the queue estimate must stay high
+        int highest = 0;
+        for (int i = 0; i < 500; i++) {
+            limit.release(SLOW, limit.getLimit());
+            highest = Math.max(highest, limit.getLimit());
+        }
+
+        assertTrue(highest <= 50, "limit grew to " + highest);
+        assertTrue(limit.getLimit() < 25, "limit stayed at " + limit.getLimit());
+    }
+
+    @Test
+    void learnsASlowerBaselineFromLightlyLoadedWindows() {
+        VegasLimit limit = new VegasLimit(50, 10, 200, 1, 5);
+        limit.release(FAST, 1);
+
+        // The database got slower, while few requests are in flight
+        for (int i = 0; i < 500; i++) {
+            limit.release(SLOW, 1);
+        }
+        int settled = limit.getLimit();
+        assertTrue(settled > 10, "limit fell to " + settled);
+
+        // Then load picks up at the new latency, which is no queue at all
+        for (int i = 0; i < 500; i++) {
+            limit.release(SLOW, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() > settled, "limit stayed at " + limit.getLimit());
+    }
+}
@@ -0,0 +1,114 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.config.AdaptivePoolProperties;
+import com.opskube.eventmanagement.util.ConnectionMonitoringDataSource;
+import com.opskube.eventmanagement.util.GatedDataSource;
+import com.opskube.eventmanagement.util.QueryStatistics;
+import com.opskube.eventmanagement.util.StatementTimingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectionPoolSizerTests {
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final AdaptivePoolProperties properties = new AdaptivePoolProperties();
+
+    @Test
+    void growsWhileCallersWaitAndStatementsKeepUp() {
+        assertEquals(12, target(10, 5, 1.0, 10));
+        // Nothing ran, which does not stop growth
+        assertEquals(12, target(10, 5, Double.NaN, 10));
+        // Statements slower than half the tolerance hold the size, even with callers waiting
+        assertEquals(10, target(10, 5, 1.3, 10));
+    }
+
+    @Test
+    void shrinksOnceStatementsSlowDown() {
+        assertEquals(8, target(10, 5, 1.6, 10));
+        assertEquals(8, target(10, 0, 2.0, 10));
+    }
+
+    @Test
+    void givesBackUnusedConnectionsOneAtATime() {
+        assertEquals(9, target(10, 0, 1.0, 7));
+        assertEquals(9, target(10, 0, Double.NaN, 0));
+        // Within a step of the size counts as in use
+        assertEquals(10, target(10, 0, 1.0, 8));
+        assertEquals(10, target(10, 0, Double.NaN, 10));
+    }
+
+    @Test
+    void staysWithinTheBounds() {
+        properties.setMinSize(4);
+        properties.setMaxSize(11);
+        assertEquals(11, target(10, 5, 1.0, 10));
+        assertEquals(4, target(5, 0, 3.0, 5));
+        assertEquals(4, target(4, 0, Double.NaN, 0));
+    }
+
+    @Test
+    void adjustResizesThePoolAndTheGate() throws Exception {
+        properties.setMinSize(2);
+        properties.setMaxSize(8);
+        properties.setTargetWaitMs(0);
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:sizer-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(20);
+        QueryStatistics statistics = new QueryStatistics(10);
+        GatedDataSource gate = new GatedDataSource(new StatementTimingDataSource(
+                new ConnectionMonitoringDataSource(pool, false), statistics, NEVER, NEVER), 20, 100);
+        try (pool) {
+            // Before the pool has opened a connection
+            ConnectionPoolSizer sizer = new ConnectionPoolSizer(gate, properties);
+            sizer.init();
+            assertSize(8, pool, gate);
+            assertEquals(2, pool.getMinimumIdle());
+
+            // Statements at the baseline while callers wait: full already, so it stays
+            interval(gate, statistics, 1);
+            sizer.adjust();
+            assertSize(8, pool, gate);
+
+            // Three times slower
+            interval(gate, statistics, 3);
+            sizer.adjust();
+            assertSize(6, pool, gate);
+
+            // Back to the baseline, with callers waiting
+            interval(gate, statistics, 1);
+            sizer.adjust();
+            assertSize(8, pool, gate);
+
+            // Idle: one at a time down to the minimum
+            for (int size = 7; size >= 2; size--) {
+                sizer.adjust();
+                assertSize(size, pool, gate);
+            }
+            sizer.adjust();
+            assertSize(2, pool, gate);
+        }
+    }
+
+    private int target(int size, double waitMs, double slowdown, int peakInUse) {
+        return ConnectionPoolSizer.targetSize(properties, size, waitMs, slowdown, peakInUse);
+    }
+
+    // One connection taken and statements of the given mean time, in milliseconds
+    private static void interval(GatedDataSource dataSource, QueryStatistics statistics, long statementMs)
+            throws Exception {
+        dataSource.getConnection().close();
+        for (int i = 0; i < 10; i++) {
+            statistics.record("select 1", statementMs * 1_000_000);
+        }
+    }
+
+    private static void assertSize(int size, HikariDataSource pool, GatedDataSource gate) {
+        assertEquals(size, pool.getMaximumPoolSize());
+        assertEquals(size, gate.getMaxPermits());
+    }
+}
@@ -0,0 +1,164 @@
+package com.opskube.eventmanagement.services;
+
+import com.opskube.eventmanagement.dto.EventDto.EventResponse;
+import com.opskube.eventmanagement.dto.UserDto;
+import com.opskube.eventmanagement.services.UpcomingEventsSnapshot.StringArena;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UpcomingEventsSnapshotTests {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void addsRemovesAndReordersRows() {
+        UpcomingEventsSnapshot.Builder builder = new UpcomingEventsSnapshot.Builder(CUTOFF);
+        add(builder, event(1, 1));
+        add(builder, event(2, 2));
+        add(builder, event(3, 3));
+        UpcomingEventsSnapshot snapshot = builder.build();
+        StringArena arena = builder.arena();
+
+        // A new event sorts in by date
+        UpcomingEventsSnapshot added = snapshot.apply(4, event(4, 2), arena);
+        assertEquals(List.of(1L, 2L, 4L, 3L), ids(added));
+
+        // Moving an event's date moves its row; the snapshot it came from is left as it was
+        UpcomingEventsSnapshot moved = added.apply(1, event(1, 5), arena);
+        assertEquals(List.of(2L, 4L, 3L, 1L), ids(moved));
+        assertEquals(List.of(1L, 2L, 4L, 3L), ids(added));
+        assertEquals(3, moved.rowOf(1));
+        assertEquals(0, added.rowOf(1));
+
+        // Deleted events and events moved before the cutoff drop out
+        UpcomingEventsSnapshot removed = moved.apply(4, null, arena).apply(3, event(3, -1), arena);
+        assertEquals(List.of(2L, 1L), ids(removed));
+        assertEquals(-1, removed.rowOf(4));
+        assertEquals(-1, removed.rowOf(3));
+        assertEquals(1, removed.rowOf(1));
+
+        // Unknown ids change nothing
+        assertEquals(removed, removed.apply(99, null, arena));
+    }
+
+    @Test
+    void keepsNullStringsNull() {
+        UpcomingEventsSnapshot.Builder builder = new UpcomingEventsSnapshot.Builder(CUTOFF);
+        EventResponse withoutDescription = event(1, 1);
+        withoutDescription.setDescription(null);
+        add(builder, withoutDescription);
+        UpcomingEventsSnapshot snapshot = builder.build();
+
+        EventResponse applied = event(2, 2);
+        applied.setDescription(null);
+        applied.setUpdatedAt(null);
+        snapshot = snapshot.apply(2, applied, builder.arena());
+
+        assertNull(snapshot.row(0).getDescription());
+        assertEquals("Event 1", snapshot.row(0).getName());
+        assertEquals("Location 1", snapshot.row(0).getLocation());
+        assertNull(snapshot.row(1).getDescription());
+        assertNull(snapshot.row(1).getUpdatedAt());
+        assertEquals("", snapshot.apply(3, withDescription(event(3, 3), ""), builder.arena()).row(2).getDescription());
+    }
+
+    @Test
+    void findsRowsByDate() {
+        UpcomingEventsSnapshot.Builder builder = new UpcomingEventsSnapshot.Builder(CUTOFF);
+        for (int i = 0; i < 2000; i++) {
+            add(builder, event(i, i / 2));
+        }
+        UpcomingEventsSnapshot snapshot = builder.build();
+
+        assertEquals(0, snapshot.firstRowAtOrAfter(CUTOFF));
+        assertEquals(200, snapshot.firstRowAtOrAfter(CUTOFF.plusHours(100)));
+        assertEquals(202, snapshot.firstRowAfter(CUTOFF.plusHours(100)));
+        assertEquals(2000, snapshot.firstRowAfter(CUTOFF.plusHours(999)));
+        assertEquals(List.of(511L, 512L, 513L), snapshot.rows(511, 514).stream().map(EventResponse::getId).toList());
+    }
+
+    @Test
+    void matchesASortedListThroughManyWrites() {
+        SplittableRandom random = new SplittableRandom(7);
+        Map<Long, EventResponse> expected = new HashMap<>();
+        UpcomingEventsSnapshot.Builder builder = new UpcomingEventsSnapshot.Builder(CUTOFF);
+        for (long id = 0; id < 3000; id++) {
+            EventResponse event = event(id, (int) id);
+            expected.put(id, event);
+            add(builder, event);
+        }
+        UpcomingEventsSnapshot snapshot = builder.build();
+
+        // Clustered inserts split chunks, deletes empty them, moves do both
+        for (int i = 0; i < 5000; i++) {
+            long id = random.nextLong(4000);
+            int operation = random.nextInt(10);
+            EventResponse event = operation < 2 ? null : event(id, operation < 6 ? random.nextInt(-5, 20) : random.nextInt(4000));
+            snapshot = snapshot.apply(id, event, builder.arena());
+            if (event == null || event.getDate().isBefore(CUTOFF)) {
+                expected.remove(id);
+            } else {
+                expected.put(id, event);
+            }
+        }
+
+        List<Long> sorted = expected.values().stream()
+                .sorted(Comparator.comparing(EventResponse::getDate).thenComparing(EventResponse::getId))
+                .map(EventResponse::getId)
+                .toList();
+        assertEquals(sorted, ids(snapshot));
+        for (int row = 0; row < sorted.size(); row++) {
+            assertEquals(row, snapshot.rowOf(sorted.get(row)));
+        }
+        for (long id = 0; id < 4000; id++) {
+            if (!expected.containsKey(id)) {
+                assertEquals(-1, snapshot.rowOf(id));
+            }
+        }
+        assertEquals(expected.get(sorted.get(0)).getName(), snapshot.row(0).getName());
+    }
+
+    private static List<Long> ids(UpcomingEventsSnapshot snapshot) {
+        return snapshot.rows(0, snapshot.size()).stream().map(EventResponse::getId).toList();
+    }
+
+    private static EventResponse event(long id, int hoursAfterCutoff) {
+        UserDto organizer = UserDto.builder()
+                .id(100 + id)
+                .username("organizer" + id)
+                .email("organizer" + id + "@example.com")
+                .createdAt(CUTOFF.minusYears(1))
+                .build();
+        return EventResponse.builder()
+                .id(id)
+                .name("Event " + id)
+                .description("Description " + id)
+                .date(CUTOFF.plusHours(hoursAfterCutoff))
+                .location("Location " + id)
+                .organizer(organizer)
+                .createdAt(CUTOFF.minusDays(1))
+                .updatedAt(CUTOFF.minusDays(1))
+                .build();
+    }
+
+    private static EventResponse withDescription(EventResponse event, String description) {
+        event.setDescription(description);
+        return event;
+    }
+
+    private static void add(UpcomingEventsSnapshot.Builder builder, EventResponse event) {
+        UserDto organizer = event.getOrganizer();
+        builder.add(event.getId(), event.getName(), event.getDescription(), event.getDate(), event.getLocation(),
+                event.getCreatedAt(), event.getUpdatedAt(), organizer.getId(), organizer.getUsername(),
+                organizer.getEmail(), organizer.getCreatedAt());
+    }
+}
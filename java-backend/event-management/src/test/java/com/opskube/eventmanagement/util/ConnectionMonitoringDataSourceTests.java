@@ -0,0 +1,73 @@
+package com.opskube.eventmanagement.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectionMonitoringDataSourceTests {
+
+    @Test
+    void ownersLookThroughProxiesAndLambdas() {
+        assertEquals("EventService.getAllEvents", ConnectionMonitoringDataSource.ownerName(
+                "com.opskube.eventmanagement.services.EventService", "getAllEvents"));
+        assertEquals("EventService.getAllEvents", ConnectionMonitoringDataSource.ownerName(
+                "com.opskube.eventmanagement.services.EventService$$SpringCGLIB$$0", "getAllEvents"));
+        assertEquals("EventService.getEventById", ConnectionMonitoringDataSource.ownerName(
+                "com.opskube.eventmanagement.services.EventService", "lambda$getEventById$3"));
+        assertEquals("EventService.getEventById", ConnectionMonitoringDataSource.ownerName(
+                "com.opskube.eventmanagement.services.EventService$$SpringCGLIB$$0", "lambda$getEventById$0"));
+    }
+
+    @Test
+    void attributesConnectionsToTheCallingMethod() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConnectionMonitoringDataSource dataSource = dataSource(true);
+        dataSource.bindTo(registry);
+
+        dataSource.getConnection().close();
+        Supplier<Connection> inLambda = () -> {
+            try {
+                return dataSource.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        inLambda.get().close();
+
+        assertEquals(2, acquired(registry, "ConnectionMonitoringDataSourceTests.attributesConnectionsToTheCallingMethod"));
+    }
+
+    @Test
+    void closingTwiceRecordsTheHeldTimeOnce() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConnectionMonitoringDataSource dataSource = dataSource(false);
+        dataSource.bindTo(registry);
+
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, dataSource.getInUse());
+        connection.close();
+        connection.close();
+
+        assertEquals(0, dataSource.getInUse());
+        Timer held = registry.get("db.connection.held").tag("owner", ConnectionMonitoringDataSource.UNKNOWN_OWNER).timer();
+        assertEquals(1, held.count());
+        assertEquals(1, dataSource.resetPeakInUse());
+        assertEquals(0, dataSource.resetPeakInUse());
+    }
+
+    private static ConnectionMonitoringDataSource dataSource(boolean attributeOwner) {
+        return new ConnectionMonitoringDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:monitoring-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""), attributeOwner);
+    }
+
+    private static long acquired(SimpleMeterRegistry registry, String owner) {
+        return registry.get("db.connection.acquire").tag("owner", owner).timer().count();
+    }
+}